@@ -1,5 +1,9 @@
+import assignment2.MyChunkedList;
 import assignment2.MyLinkedList;
 
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
 public class TestMyLinkedList {
 
 	public static void test1() {
@@ -132,6 +136,74 @@ public class TestMyLinkedList {
 		// S A B C
 		System.out.println();
 	}
+	public static void test7() {
+		MyChunkedList<Integer> l = new MyChunkedList<Integer>();
+		// enough elements to span several blocks on both sides
+		for (int i = 0; i < 200; i++) {
+			l.addLeft(-i);
+			l.addRight(i);
+		}
+		// -199 ... -1 0 0 1 ... 199
+		l.reverse();
+		// 199 ... 1 0 0 -1 ... -199
+		boolean flag = l.size() == 400
+				&& l.removeLeft() == 199
+				&& l.removeRight() == -199;
+		while (l.size() > 1)
+			l.removeRight();
+		if (flag && l.removeLeft() == 198 && l.isEmpty())
+			System.out.println("test7 OK");
+		else
+			System.out.println("test7 ERROR");
+	}
+
+	public static void test8() {
+		MyLinkedList<String> l = new MyLinkedList<String>();
+		l.addAllRight(Arrays.asList("C", "D"));
+		l.addAllLeft(Arrays.asList("A", "B"));
+		// A-B-C-D
+		l.reverse();
+		// D-C-B-A
+		l.addAllRight(Arrays.asList("X", "Y"));
+		l.addAllLeft(Arrays.asList("P", "Q"));
+		// P-Q-D-C-B-A-X-Y
+
+		StringBuilder sb = new StringBuilder();
+		for (String s : l)
+			sb.append(s);
+
+		if (sb.toString().equals("PQDCBAXY")
+				&& l.peekLeft().equals("P")
+				&& l.peekRight().equals("Y")
+				&& l.stream().parallel().collect(Collectors.joining()).equals("PQDCBAXY")
+				&& l.size() == 8)
+			System.out.println("test8 OK");
+		else
+			System.out.println("test8 ERROR");
+	}
+
+	public static void test9() {
+		MyLinkedList<String> l1 = new MyLinkedList<String>();
+		l1.addAllRight(Arrays.asList("A", "B", "C"));
+		MyLinkedList<String> l2 = new MyLinkedList<String>();
+		l2.addAllRight(Arrays.asList("Z", "Y", "X"));
+		l2.reverse();
+		// A-B-C and X-Y-Z
+		l1.append(l2);
+		// A-B-C-X-Y-Z
+		MyLinkedList<String> rest = l1.split(2);
+		// A-B and C-X-Y-Z
+
+		if (l2.isEmpty()
+				&& l1.stream().collect(Collectors.joining()).equals("AB")
+				&& rest.stream().collect(Collectors.joining()).equals("CXYZ")
+				&& l1.removeRight().equals("B")
+				&& rest.removeLeft().equals("C"))
+			System.out.println("test9 OK");
+		else
+			System.out.println("test9 ERROR");
+	}
+
 	public static void main(String[] args) {
 		test1();
 		test2();
@@ -139,5 +211,8 @@ public class TestMyLinkedList {
 		test4();
 		test5();
 		test6();
+		test7();
+		test8();
+		test9();
 	}
 }
@@ -2,6 +2,11 @@ import assignment2.MyStackOperations;
 import basicdatastructures.stack.*;
 import geomerticshapes.*;
 
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
 public class TestMyStackOperations {
 
     public static void testSize() {
@@ -148,11 +153,193 @@ public class TestMyStackOperations {
         System.out.println("testAreEqual OK");
     }
 
+    public static void testPlainStack() {
+        // a stack that is not a SizedStack goes through the pop/push fallback
+        Stack<Integer> s = new ConcurrentStackLinkedListBased<Integer>();
+        for (int i = 1; i <= 5; i++)
+            s.push(i);
+
+        if (MyStackOperations.size(s) != 5 || MyStackOperations.removeBottom(s) != 1) {
+            System.out.println("testPlainStack ERROR");
+            return;
+        }
+        MyStackOperations.reverse(s);
+        for (int i = 2; i <= 5; i++) {
+            if (s.isEmpty() || s.pop() != i) {
+                System.out.println("testPlainStack ERROR");
+                return;
+            }
+        }
+
+        System.out.println("testPlainStack OK");
+    }
+
+    public static void testIntStack() {
+        IntStack s = new IntStack();
+        // 100 elements, so the default 16 slots have to grow a few times
+        for (int i = 0; i < 100; i++)
+            s.push(i);
+        if (s.size() != 100 || s.peekInt() != 99 || s.peekBottom() != 0) {
+            System.out.println("testIntStack ERROR");
+            return;
+        }
+        for (int i = 99; i >= 0; i--) {
+            if (s.isEmpty() || s.popInt() != i) {
+                System.out.println("testIntStack ERROR");
+                return;
+            }
+        }
+
+        // the boxed path, through the Stack interface
+        Stack<Integer> boxed = new IntStack(0);
+        for (int i = 0; i < 20; i++)
+            boxed.push(i * 1000);
+        for (int i = 19; i >= 0; i--) {
+            if (boxed.pop() != i * 1000) {
+                System.out.println("testIntStack ERROR");
+                return;
+            }
+        }
+
+        if (!throwsNoSuchElement(s::popInt) || !throwsNoSuchElement(s::peekInt) || !throwsNoSuchElement(boxed::pop)
+                || !throwsNoSuchElement(s::peekBottom) || !throwsNoSuchElement(s::removeBottom)) {
+            System.out.println("testIntStack ERROR");
+            return;
+        }
+        try {
+            boxed.push(null);
+            System.out.println("testIntStack ERROR");
+            return;
+        } catch (NullPointerException e) {
+            // expected, an IntStack cannot hold null
+        }
+        System.out.println("testIntStack OK");
+    }
+
+    public static void testLongStack() {
+        LongStack s = new LongStack();
+        for (long i = 0; i < 100; i++)
+            s.push(i << 40);
+        if (s.size() != 100 || s.peekLong() != 99L << 40 || s.peekBottom() != 0L) {
+            System.out.println("testLongStack ERROR");
+            return;
+        }
+        for (long i = 99; i >= 0; i--) {
+            if (s.isEmpty() || s.popLong() != i << 40) {
+                System.out.println("testLongStack ERROR");
+                return;
+            }
+        }
+
+        Stack<Long> boxed = new LongStack(0);
+        for (long i = 0; i < 20; i++)
+            boxed.push(-i);
+        for (long i = 19; i >= 0; i--) {
+            if (boxed.pop() != -i) {
+                System.out.println("testLongStack ERROR");
+                return;
+            }
+        }
+
+        if (!throwsNoSuchElement(s::popLong) || !throwsNoSuchElement(s::peekLong) || !throwsNoSuchElement(boxed::pop)
+                || !throwsNoSuchElement(s::peekBottom) || !throwsNoSuchElement(s::removeBottom)) {
+            System.out.println("testLongStack ERROR");
+            return;
+        }
+        try {
+            boxed.push(null);
+            System.out.println("testLongStack ERROR");
+            return;
+        } catch (NullPointerException e) {
+            // expected, a LongStack cannot hold null
+        }
+        System.out.println("testLongStack OK");
+    }
+
+    public static void testConcurrentStack() {
+        ConcurrentStackLinkedListBased<Integer> s = new ConcurrentStackLinkedListBased<Integer>();
+        if (!s.isEmpty() || s.poll() != null || !throwsNoSuchElement(s::pop)) {
+            System.out.println("testConcurrentStack ERROR");
+            return;
+        }
+        for (int i = 0; i < 100; i++)
+            s.push(i);
+        for (int i = 99; i >= 0; i--) {
+            if (s.isEmpty() || s.pop() != i) {
+                System.out.println("testConcurrentStack ERROR");
+                return;
+            }
+        }
+        try {
+            s.push(null);
+            System.out.println("testConcurrentStack ERROR");
+            return;
+        } catch (NullPointerException e) {
+            // expected, null items are not allowed
+        }
+
+        // 4 threads push and 4 threads pop at the same time, which also exercises the elimination array;
+        // every item has to be popped exactly once
+        int threads = 4;
+        int perThread = 100000;
+        int n = threads * perThread;
+        AtomicIntegerArray seen = new AtomicIntegerArray(n);
+        AtomicInteger popped = new AtomicInteger();
+        AtomicBoolean duplicate = new AtomicBoolean();
+        Thread[] all = new Thread[2 * threads];
+        for (int t = 0; t < threads; t++) {
+            int first = t * perThread;
+            all[t] = new Thread(() -> {
+                for (int i = first; i < first + perThread; i++)
+                    s.push(i);
+            });
+            all[threads + t] = new Thread(() -> {
+                while (popped.get() < n) {
+                    Integer item = s.poll();
+                    if (item == null) {
+                        Thread.yield();
+                        continue;
+                    }
+                    if (seen.getAndIncrement(item) != 0)
+                        duplicate.set(true);
+                    popped.incrementAndGet();
+                }
+            });
+        }
+        for (Thread t : all)
+            t.start();
+        try {
+            for (Thread t : all)
+                t.join();
+        } catch (InterruptedException e) {
+            System.out.println("testConcurrentStack ERROR");
+            return;
+        }
+        if (duplicate.get() || popped.get() != n || !s.isEmpty()) {
+            System.out.println("testConcurrentStack ERROR");
+            return;
+        }
+        System.out.println("testConcurrentStack OK");
+    }
+
+    private static boolean throwsNoSuchElement(Runnable r) {
+        try {
+            r.run();
+            return false;
+        } catch (NoSuchElementException e) {
+            return true;
+        }
+    }
+
     public static void main(String[] args) {
         testSize();
         testRemoveBottom();
         testReverse();
         testAreEqual();
+        testPlainStack();
+        testIntStack();
+        testLongStack();
+        testConcurrentStack();
 
         // Stack<Integer> s = new StackLinkedListBased<>();
         // s.push(1);
@@ -0,0 +1,339 @@
+import basicdatastructures.queue.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+public class TestQueues {
+
+    public static void testWrapAround() {
+        QueueArrayBased<Integer> q = new QueueArrayBased<Integer>();
+        int capacity = q.capacity();
+        // keep the queue half full while head and tail go around the array several times
+        int next = 0;
+        int expected = 0;
+        for (int i = 0; i < capacity / 2; i++)
+            q.enqueue(next++);
+        for (int round = 0; round < 5 * capacity; round++) {
+            q.enqueue(next++);
+            if (q.dequeue() != expected++) {
+                System.out.println("testWrapAround ERROR");
+                return;
+            }
+        }
+        if (q.capacity() != capacity || q.size() != capacity / 2) {
+            System.out.println("testWrapAround ERROR");
+            return;
+        }
+        System.out.println("testWrapAround OK");
+    }
+
+    public static void testGrowAndShrink() {
+        QueueArrayBased<Integer> q = new QueueArrayBased<Integer>();
+        int initial = q.capacity();
+        // start in the middle of the array, so the elements are wrapped when it grows
+        for (int i = 0; i < initial / 2; i++) {
+            q.enqueue(-1);
+            q.dequeue();
+        }
+        for (int i = 0; i < 1000; i++)
+            q.enqueue(i);
+        if (q.size() != 1000 || q.capacity() < 1000) {
+            System.out.println("testGrowAndShrink ERROR");
+            return;
+        }
+        for (int i = 0; i < 1000; i++) {
+            if (q.dequeue() != i) {
+                System.out.println("testGrowAndShrink ERROR");
+                return;
+            }
+        }
+        if (!q.isEmpty() || q.capacity() != initial) {
+            System.out.println("testGrowAndShrink ERROR");
+            return;
+        }
+        try {
+            q.dequeue();
+            System.out.println("testGrowAndShrink ERROR");
+            return;
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+        System.out.println("testGrowAndShrink OK");
+    }
+
+    public static void testPresized() {
+        QueueArrayBased<Integer> q = new QueueArrayBased<Integer>(1 << 20);
+        q.enqueue(1);
+        q.dequeue();
+        if (q.capacity() != 1 << 20) {
+            System.out.println("testPresized ERROR");
+            return;
+        }
+        // grown past the requested capacity, it shrinks back down to it but no further
+        for (int i = 0; i < (1 << 20) + 1; i++)
+            q.enqueue(i);
+        while (!q.isEmpty())
+            q.dequeue();
+        if (q.capacity() != 1 << 20) {
+            System.out.println("testPresized ERROR");
+            return;
+        }
+        try {
+            new QueueArrayBased<Integer>(Integer.MAX_VALUE);
+            System.out.println("testPresized ERROR");
+            return;
+        } catch (IllegalArgumentException e) {
+            // expected, more than the largest power of two array
+        }
+        System.out.println("testPresized OK");
+    }
+
+    public static void testConcurrentQueueArrayBased() {
+        ConcurrentQueueArrayBased<Integer> q = new ConcurrentQueueArrayBased<Integer>(6);
+        if (q.capacity() != 8 || !q.isEmpty() || q.poll() != null) {
+            System.out.println("testConcurrentQueueArrayBased ERROR");
+            return;
+        }
+        // fill it, check it is full, and empty it several times so the sequence numbers wrap
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 8; i++)
+                q.enqueue(round * 8 + i);
+            if (q.offer(-1)) {
+                System.out.println("testConcurrentQueueArrayBased ERROR");
+                return;
+            }
+            try {
+                q.enqueue(-1);
+                System.out.println("testConcurrentQueueArrayBased ERROR");
+                return;
+            } catch (IllegalStateException e) {
+                // expected, the queue is full
+            }
+            for (int i = 0; i < 8; i++) {
+                if (q.dequeue() != round * 8 + i) {
+                    System.out.println("testConcurrentQueueArrayBased ERROR");
+                    return;
+                }
+            }
+        }
+        if (!q.isEmpty() || !throwsNoSuchElement(q::dequeue)) {
+            System.out.println("testConcurrentQueueArrayBased ERROR");
+            return;
+        }
+
+        ConcurrentQueueArrayBased<Integer> shared = new ConcurrentQueueArrayBased<Integer>(64);
+        if (!producersAndConsumers(shared::offer, shared::poll)) {
+            System.out.println("testConcurrentQueueArrayBased ERROR");
+            return;
+        }
+        System.out.println("testConcurrentQueueArrayBased OK");
+    }
+
+    public static void testConcurrentQueueLinkedListBased() {
+        ConcurrentQueueLinkedListBased<Integer> q = new ConcurrentQueueLinkedListBased<Integer>();
+        if (!q.isEmpty() || q.poll() != null || !throwsNoSuchElement(q::dequeue)) {
+            System.out.println("testConcurrentQueueLinkedListBased ERROR");
+            return;
+        }
+        for (int i = 0; i < 100; i++)
+            q.enqueue(i);
+        for (int i = 0; i < 100; i++) {
+            if (q.isEmpty() || q.dequeue() != i) {
+                System.out.println("testConcurrentQueueLinkedListBased ERROR");
+                return;
+            }
+        }
+        if (!q.isEmpty() || q.poll() != null) {
+            System.out.println("testConcurrentQueueLinkedListBased ERROR");
+            return;
+        }
+
+        ConcurrentQueueLinkedListBased<Integer> shared = new ConcurrentQueueLinkedListBased<Integer>();
+        if (!producersAndConsumers(shared::offer, shared::poll)) {
+            System.out.println("testConcurrentQueueLinkedListBased ERROR");
+            return;
+        }
+        System.out.println("testConcurrentQueueLinkedListBased OK");
+    }
+
+    public static void testSpscQueue() {
+        SpscQueueArrayBased<Integer> q = new SpscQueueArrayBased<Integer>(8);
+        for (int i = 0; i < 8; i++)
+            q.enqueue(i);
+        if (q.offer(8) || q.dequeue() != 0) {
+            System.out.println("testSpscQueue ERROR");
+            return;
+        }
+
+        // a collection that fails on its third add: the two elements added are gone, the rest stay queued
+        ArrayList<Integer> failing = new ArrayList<Integer>() {
+            @Override
+            public boolean add(Integer item) {
+                if (size() == 2)
+                    throw new IllegalStateException("full");
+                return super.add(item);
+            }
+        };
+        try {
+            q.drainTo(failing, 10);
+            System.out.println("testSpscQueue ERROR");
+            return;
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        if (!failing.equals(Arrays.asList(1, 2))) {
+            System.out.println("testSpscQueue ERROR");
+            return;
+        }
+        ArrayList<Integer> rest = new ArrayList<Integer>();
+        if (q.drainTo(rest, 10) != 5 || !rest.equals(Arrays.asList(3, 4, 5, 6, 7)) || q.poll() != null) {
+            System.out.println("testSpscQueue ERROR");
+            return;
+        }
+
+        // an iterator that yields null part way: the elements before it are queued, the rest stay in the iterator
+        Iterator<Integer> it = Arrays.asList(1, 2, null, 4).iterator();
+        try {
+            q.fillFrom(it, 8);
+            System.out.println("testSpscQueue ERROR");
+            return;
+        } catch (NullPointerException e) {
+            // expected
+        }
+        if (q.poll() != 1 || q.poll() != 2 || q.poll() != null || !it.hasNext() || it.next() != 4) {
+            System.out.println("testSpscQueue ERROR");
+            return;
+        }
+
+        // one producer and one consumer, using both the single and the batch operations
+        SpscQueueArrayBased<Integer> shared = new SpscQueueArrayBased<Integer>(64);
+        int n = 200000;
+        Thread producer = new Thread(() -> {
+            int next = 0;
+            while (next < n) {
+                if (next % 2 == 0) {
+                    if (!shared.offer(next)) {
+                        Thread.yield();
+                        continue;
+                    }
+                    next++;
+                } else {
+                    int from = next;
+                    int added = shared.fillFrom(IntStream.range(from, Math.min(from + 10, n)).iterator(), 10);
+                    if (added == 0)
+                        Thread.yield();
+                    next += added;
+                }
+            }
+        });
+        producer.start();
+        ArrayList<Integer> batch = new ArrayList<Integer>();
+        int expected = 0;
+        boolean inOrder = true;
+        while (expected < n) {
+            batch.clear();
+            if (shared.drainTo(batch, 16) == 0) {
+                Integer item = shared.poll();
+                if (item == null) {
+                    Thread.yield();
+                    continue;
+                }
+                batch.add(item);
+            }
+            for (int item : batch)
+                inOrder &= item == expected++;
+        }
+        try {
+            producer.join();
+        } catch (InterruptedException e) {
+            inOrder = false;
+        }
+        if (!inOrder || !shared.isEmpty()) {
+            System.out.println("testSpscQueue ERROR");
+            return;
+        }
+        System.out.println("testSpscQueue OK");
+    }
+
+    private static final int THREADS = 4;
+    private static final int ITEMS_PER_PRODUCER = 100000;
+
+    /**
+     * THREADS producers offer ITEMS_PER_PRODUCER items each while THREADS consumers poll them.
+     * Checks that every item is received exactly once (by the sum and count), and that
+     * every consumer sees the items of any one producer in the order they were offered
+     */
+    private static boolean producersAndConsumers(Predicate<Integer> offer, Supplier<Integer> poll) {
+        AtomicLong sum = new AtomicLong();
+        AtomicInteger received = new AtomicInteger();
+        AtomicBoolean outOfOrder = new AtomicBoolean();
+        Thread[] threads = new Thread[2 * THREADS];
+        for (int p = 0; p < THREADS; p++) {
+            int producer = p;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < ITEMS_PER_PRODUCER; i++) {
+                    Integer item = producer * ITEMS_PER_PRODUCER + i;
+                    while (!offer.test(item))
+                        Thread.yield(); // full, wait for the consumers
+                }
+            });
+        }
+        for (int c = 0; c < THREADS; c++) {
+            threads[THREADS + c] = new Thread(() -> {
+                int[] last = new int[THREADS];
+                Arrays.fill(last, -1);
+                while (received.get() < THREADS * ITEMS_PER_PRODUCER) {
+                    Integer item = poll.get();
+                    if (item == null) {
+                        Thread.yield();
+                        continue;
+                    }
+                    int producer = item / ITEMS_PER_PRODUCER;
+                    int i = item % ITEMS_PER_PRODUCER;
+                    if (i <= last[producer])
+                        outOfOrder.set(true);
+                    last[producer] = i;
+                    sum.addAndGet(item);
+                    received.incrementAndGet();
+                }
+            });
+        }
+        for (Thread t : threads)
+            t.start();
+        try {
+            for (Thread t : threads)
+                t.join();
+        } catch (InterruptedException e) {
+            return false;
+        }
+        long n = (long) THREADS * ITEMS_PER_PRODUCER;
+        return !outOfOrder.get() && received.get() == n && sum.get() == n * (n - 1) / 2 && poll.get() == null;
+    }
+
+    private static boolean throwsNoSuchElement(Runnable r) {
+        try {
+            r.run();
+            return false;
+        } catch (NoSuchElementException e) {
+            return true;
+        }
+    }
+
+    public static void main(String[] args) {
+        testWrapAround();
+        testGrowAndShrink();
+        testPresized();
+        testConcurrentQueueArrayBased();
+        testConcurrentQueueLinkedListBased();
+        testSpscQueue();
+    }
+
+}
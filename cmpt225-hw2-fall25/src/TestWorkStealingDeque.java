@@ -0,0 +1,125 @@
+import assignment2.WorkStealingDeque;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class TestWorkStealingDeque {
+
+	public static void testOwnerOnly() {
+		WorkStealingDeque<Integer> d = new WorkStealingDeque<Integer>();
+		if (!d.isEmpty() || d.pollRight() != null || d.pollLeft() != null) {
+			System.out.println("testOwnerOnly ERROR");
+			return;
+		}
+		// enough elements for the array to grow several times
+		for (int i = 0; i < 1000; i++)
+			d.addRight(i);
+		if (d.size() != 1000) {
+			System.out.println("testOwnerOnly ERROR");
+			return;
+		}
+		// the owner takes the newest elements on the right, a thief the oldest on the left
+		for (int i = 0; i < 500; i++) {
+			if (d.removeRight() != 999 - i || d.removeLeft() != i) {
+				System.out.println("testOwnerOnly ERROR");
+				return;
+			}
+		}
+		if (!d.isEmpty() || d.size() != 0) {
+			System.out.println("testOwnerOnly ERROR");
+			return;
+		}
+		try {
+			d.removeRight();
+			System.out.println("testOwnerOnly ERROR");
+			return;
+		} catch (NoSuchElementException e) {
+			// expected
+		}
+		try {
+			d.removeLeft();
+			System.out.println("testOwnerOnly ERROR");
+			return;
+		} catch (NoSuchElementException e) {
+			// expected
+		}
+		try {
+			d.addRight(null);
+			System.out.println("testOwnerOnly ERROR");
+			return;
+		} catch (NullPointerException e) {
+			// expected, null items are not allowed
+		}
+		System.out.println("testOwnerOnly OK");
+	}
+
+	public static void testStealing() {
+		WorkStealingDeque<Integer> d = new WorkStealingDeque<Integer>();
+		int n = 400000;
+		int thieves = 3;
+		AtomicIntegerArray seen = new AtomicIntegerArray(n);
+		AtomicInteger taken = new AtomicInteger();
+		AtomicBoolean error = new AtomicBoolean();
+
+		Thread[] threads = new Thread[thieves];
+		for (int t = 0; t < thieves; t++) {
+			threads[t] = new Thread(() -> {
+				int last = -1;
+				while (taken.get() < n) {
+					Integer item = d.pollLeft();
+					if (item == null) {
+						Thread.yield();
+						continue;
+					}
+					// the left end only ever holds older elements, so one thief sees increasing items
+					if (item <= last || seen.getAndIncrement(item) != 0)
+						error.set(true);
+					last = item;
+					taken.incrementAndGet();
+				}
+			});
+			threads[t].start();
+		}
+
+		// the owner pushes everything, taking back one element of every three it pushes
+		for (int i = 0; i < n; i++) {
+			d.addRight(i);
+			if (i % 3 == 2) {
+				Integer item = d.pollRight();
+				if (item != null) {
+					if (seen.getAndIncrement(item) != 0)
+						error.set(true);
+					taken.incrementAndGet();
+				}
+			}
+		}
+		Integer item;
+		while ((item = d.pollRight()) != null) {
+			if (seen.getAndIncrement(item) != 0)
+				error.set(true);
+			taken.incrementAndGet();
+		}
+
+		try {
+			for (Thread t : threads)
+				t.join();
+		} catch (InterruptedException e) {
+			error.set(true);
+		}
+		for (int i = 0; i < n; i++)
+			if (seen.get(i) != 1)
+				error.set(true);
+		if (error.get() || taken.get() != n || !d.isEmpty())
+			System.out.println("testStealing ERROR");
+		else
+			System.out.println("testStealing OK");
+	}
+
+	public static void main(String[] args) {
+		testOwnerOnly();
+		testStealing();
+	}
+
+}
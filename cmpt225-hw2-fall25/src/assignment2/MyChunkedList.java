@@ -0,0 +1,181 @@
+package assignment2;
+import java.util.*;
+
+/**
+ *
+ * This is a generic class representing a list of objects, with the same
+ * operations as MyLinkedList:
+ * - adding and removing elements from the left and from the right.
+ * - reversing the list
+ * - getting the size of the list
+ * 
+ * Instead of one node per element, the elements are stored in fixed-size
+ * array blocks that are linked to each other, so neighbouring elements
+ * sit next to each other in memory.
+ * 
+ * Memory per element, not counting the elements themselves
+ * (64-bit JVM with compressed references):
+ * - MyLinkedList: one MyLinkedListNode of 12 header + 4 data + 4 next
+ *   + 4 prev + 4 outer-class reference = 28, padded to 32 bytes.
+ * - MyChunkedList: one 4 byte array slot, plus 16 array header + 24 block
+ *   object bytes shared by BLOCK_SIZE elements, about 4.6 bytes when full.
+ * 
+ * **All operations run in O(1) time.**
+ */
+public class MyChunkedList<T> {
+
+	private static final int BLOCK_SIZE = 64;
+
+	private static class Block {
+		final Object[] items = new Object[BLOCK_SIZE];
+		Block next;
+		Block prev;
+	}
+
+	// physical ends of the list; headIndex is the first used slot, tailIndex is one past the last
+	private Block headBlock;
+	private int headIndex;
+	private Block tailBlock;
+	private int tailIndex;
+	private int length;
+	private int direction;
+
+	/**
+	 * The constructor creates an empty list
+	 */
+	public MyChunkedList() {
+		headBlock = new Block();
+		tailBlock = headBlock;
+		headIndex = BLOCK_SIZE / 2;
+		tailIndex = BLOCK_SIZE / 2;
+		length = 0;
+		direction = 1;
+	}
+
+	/**
+	 * Adds the new item to the left of the list. 
+	 */
+	public void addLeft(T item) {
+		if (direction == 1)
+			addFirst(item);
+		else
+			addLast(item);
+	}
+
+	/**
+	 * Adds the new item to the right of the list. 
+	 */
+	public void addRight(T item) {
+		if (direction == 1)
+			addLast(item);
+		else
+			addFirst(item);
+	}
+
+	/**
+	 * Removes the leftmost item from the list and returns it.
+	 * If the list is empty, throws NoSuchElementException.
+	 */
+	public T removeLeft() {
+		if (this.length == 0) {
+			throw new NoSuchElementException("List is empty");
+		}
+		return direction == 1 ? removeFirst() : removeLast();
+	}
+
+	/**
+	 * Removes the rightmost item from the list and returns it.
+	 * If the list is empty, throws NoSuchElementException.
+	 */
+	public T removeRight() {
+		if (this.length == 0) {
+			throw new NoSuchElementException("List is empty");
+		}
+		return direction == 1 ? removeLast() : removeFirst();
+	}
+
+	/**
+	 * Reverses the list
+	 */
+	public void reverse() {
+		direction = -direction;
+	}
+
+	/**
+	 * Returns the size of the list.
+	 */
+	public int size() {
+		return length;
+	}
+
+	/**
+	 * Returns true if list is empty, and returns false otherwise.
+	 */
+	public boolean isEmpty() {
+		return length==0;
+	}
+
+	private void addFirst(T item) {
+		if (headIndex == 0) {
+			Block b = new Block();
+			b.next = headBlock;
+			headBlock.prev = b;
+			headBlock = b;
+			headIndex = BLOCK_SIZE;
+		}
+		headBlock.items[--headIndex] = item;
+		length++;
+	}
+
+	private void addLast(T item) {
+		if (tailIndex == BLOCK_SIZE) {
+			Block b = new Block();
+			b.prev = tailBlock;
+			tailBlock.next = b;
+			tailBlock = b;
+			tailIndex = 0;
+		}
+		tailBlock.items[tailIndex++] = item;
+		length++;
+	}
+
+	@SuppressWarnings("unchecked")
+	private T removeFirst() {
+		T temp = (T) headBlock.items[headIndex];
+		headBlock.items[headIndex++] = null;
+		length--;
+		if (length == 0) {
+			recenter();
+		} else if (headIndex == BLOCK_SIZE) {
+			headBlock = headBlock.next;
+			headBlock.prev = null;
+			headIndex = 0;
+		}
+		return temp;
+	}
+
+	@SuppressWarnings("unchecked")
+	private T removeLast() {
+		T temp = (T) tailBlock.items[--tailIndex];
+		tailBlock.items[tailIndex] = null;
+		length--;
+		if (length == 0) {
+			recenter();
+		} else if (tailIndex == 0) {
+			tailBlock = tailBlock.prev;
+			tailBlock.next = null;
+			tailIndex = BLOCK_SIZE;
+		}
+		return temp;
+	}
+
+	// keeps one block around once the list empties, with room to grow both ways
+	private void recenter() {
+		tailBlock = headBlock;
+		headBlock.next = null;
+		headBlock.prev = null;
+		headIndex = BLOCK_SIZE / 2;
+		tailIndex = BLOCK_SIZE / 2;
+	}
+
+}
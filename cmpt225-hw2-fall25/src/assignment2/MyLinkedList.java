@@ -1,5 +1,8 @@
 package assignment2;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  *
@@ -8,10 +11,11 @@ import java.util.*;
  * - adding and removing elements from the left and from the right.
  * - reversing the list
  * - getting the size of the list
+ * - iterating over the list from left to right
  * 
  * **All operations must run in O(1) time.**
  */
-public class MyLinkedList<T> {
+public class MyLinkedList<T> implements Iterable<T> {
 
 	public class MyLinkedListNode {
 		T data;
@@ -174,4 +178,300 @@ public class MyLinkedList<T> {
 		return length==0;
 	}
 
+	/**
+	 * Returns the leftmost item without removing it.
+	 * If the list is empty, throws NoSuchElementException.
+	 */
+	public T peekLeft() {
+		if (this.length == 0) {
+			throw new NoSuchElementException("List is empty");
+		}
+		return direction == 1 ? this.head.data : this.tail.data;
+	}
+
+	/**
+	 * Returns the rightmost item without removing it.
+	 * If the list is empty, throws NoSuchElementException.
+	 */
+	public T peekRight() {
+		if (this.length == 0) {
+			throw new NoSuchElementException("List is empty");
+		}
+		return direction == 1 ? this.tail.data : this.head.data;
+	}
+
+	/**
+	 * Adds the items to the left of the list, keeping their order,
+	 * so the first item becomes the leftmost one.
+	 * Runs in O(number of items).
+	 */
+	public void addAllLeft(Iterable<? extends T> items) {
+		MyLinkedList<T> chain = chainOf(items);
+		if (direction == 1)
+			linkBeforeHead(chain);
+		else
+			linkAfterTail(chain);
+	}
+
+	/**
+	 * Adds the items to the right of the list, keeping their order,
+	 * so the last item becomes the rightmost one.
+	 * Runs in O(number of items).
+	 */
+	public void addAllRight(Iterable<? extends T> items) {
+		MyLinkedList<T> chain = chainOf(items);
+		if (direction == 1)
+			linkAfterTail(chain);
+		else
+			linkBeforeHead(chain);
+	}
+
+	/**
+	 * Moves all items of other to the right of this list, keeping their order,
+	 * and leaves other empty.
+	 * Runs in O(1) time when both lists have the same direction. Otherwise the
+	 * shorter list is physically reversed first, which takes O(its size).
+	 */
+	public void append(MyLinkedList<T> other) {
+		if (other == this)
+			throw new IllegalArgumentException("Cannot append a list to itself");
+		if (other.length == 0)
+			return;
+		if (this.length == 0) {
+			this.direction = other.direction;
+		} else if (this.direction != other.direction) {
+			if (other.length <= this.length)
+				other.reversePhysically();
+			else
+				this.reversePhysically();
+		}
+		if (direction == 1)
+			linkAfterTail(other);
+		else
+			linkBeforeHead(other);
+	}
+
+	/**
+	 * Keeps the k leftmost items in this list, and returns a new list
+	 * with the remaining items in the same order.
+	 * If k < 0 or k > size(), throws IndexOutOfBoundsException.
+	 * Runs in O(min(k, size()-k)) time.
+	 */
+	public MyLinkedList<T> split(int k) {
+		if (k < 0 || k > length)
+			throw new IndexOutOfBoundsException("k = " + k + ", size = " + length);
+		MyLinkedList<T> rest = new MyLinkedList<T>();
+		rest.direction = this.direction;
+		if (k == length)
+			return rest;
+		if (k == 0) {
+			rest.linkAfterTail(this);
+			return rest;
+		}
+		MyLinkedListNode lastLeft = nodeAt(k - 1);
+		MyLinkedListNode firstRight = rightOf(lastLeft);
+		// cut the chain between lastLeft and firstRight
+		if (direction == 1) {
+			rest.head = firstRight;
+			rest.tail = this.tail;
+			this.tail = lastLeft;
+			lastLeft.next = null;
+			firstRight.prev = null;
+		} else {
+			rest.head = this.head;
+			rest.tail = firstRight;
+			this.head = lastLeft;
+			lastLeft.prev = null;
+			firstRight.next = null;
+		}
+		rest.length = length - k;
+		this.length = k;
+		return rest;
+	}
+
+	/**
+	 * Returns an iterator over the list from left to right.
+	 * The list must not be modified while iterating.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new MyLinkedListIterator();
+	}
+
+	/**
+	 * Returns a spliterator over the list from left to right.
+	 * Splitting walks to the middle of the range instead of copying it.
+	 * The list must not be modified while iterating.
+	 */
+	@Override
+	public Spliterator<T> spliterator() {
+		return new MyLinkedListSpliterator(direction == 1 ? head : tail, length);
+	}
+
+	/**
+	 * Returns a stream over the list from left to right.
+	 * Call parallel() on it to process the list in parallel.
+	 */
+	public Stream<T> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	// the node to the right of node, taking the direction into account
+	private MyLinkedListNode rightOf(MyLinkedListNode node) {
+		return direction == 1 ? node.next : node.prev;
+	}
+
+	// the node to the left of node, taking the direction into account
+	private MyLinkedListNode leftOf(MyLinkedListNode node) {
+		return direction == 1 ? node.prev : node.next;
+	}
+
+	// the node at position i counting from the left, walking from the nearer end
+	private MyLinkedListNode nodeAt(int i) {
+		if (i < length / 2) {
+			MyLinkedListNode cur = direction == 1 ? head : tail;
+			for (int j = 0; j < i; j++)
+				cur = rightOf(cur);
+			return cur;
+		}
+		MyLinkedListNode cur = direction == 1 ? tail : head;
+		for (int j = length - 1; j > i; j--)
+			cur = leftOf(cur);
+		return cur;
+	}
+
+	// reverses the links and flips direction, so the items keep their left-to-right order
+	private void reversePhysically() {
+		MyLinkedListNode cur = head;
+		while (cur != null) {
+			MyLinkedListNode next = cur.next;
+			cur.next = cur.prev;
+			cur.prev = next;
+			cur = next;
+		}
+		MyLinkedListNode temp = head;
+		head = tail;
+		tail = temp;
+		direction = -direction;
+	}
+
+	/*
+	 * Builds the items into a detached chain whose physical order matches this
+	 * list's direction, so it can be linked at either end without reversing it.
+	 * The chain is returned as a MyLinkedList holding head, tail and length.
+	 */
+	private MyLinkedList<T> chainOf(Iterable<? extends T> items) {
+		MyLinkedList<T> chain = new MyLinkedList<T>();
+		chain.direction = this.direction;
+		for (T item : items)
+			chain.addRight(item);
+		return chain;
+	}
+
+	// links the physical chain of other after this.tail, and empties other
+	private void linkAfterTail(MyLinkedList<T> other) {
+		if (other.length == 0)
+			return;
+		if (this.length == 0) {
+			this.head = other.head;
+		} else {
+			this.tail.next = other.head;
+			other.head.prev = this.tail;
+		}
+		this.tail = other.tail;
+		this.length += other.length;
+		other.head = null;
+		other.tail = null;
+		other.length = 0;
+	}
+
+	// links the physical chain of other before this.head, and empties other
+	private void linkBeforeHead(MyLinkedList<T> other) {
+		if (other.length == 0)
+			return;
+		if (this.length == 0) {
+			this.tail = other.tail;
+		} else {
+			other.tail.next = this.head;
+			this.head.prev = other.tail;
+		}
+		this.head = other.head;
+		this.length += other.length;
+		other.head = null;
+		other.tail = null;
+		other.length = 0;
+	}
+
+	private class MyLinkedListIterator implements Iterator<T> {
+		private MyLinkedListNode cur = direction == 1 ? head : tail;
+
+		@Override
+		public boolean hasNext() {
+			return cur != null;
+		}
+
+		@Override
+		public T next() {
+			if (cur == null)
+				throw new NoSuchElementException("There are no more elements in the Iterator");
+			T ret = cur.data;
+			cur = rightOf(cur);
+			return ret;
+		}
+	}
+
+	private class MyLinkedListSpliterator implements Spliterator<T> {
+		private MyLinkedListNode cur; // next node to visit
+		private int remaining; // number of nodes left in this range
+
+		MyLinkedListSpliterator(MyLinkedListNode cur, int remaining) {
+			this.cur = cur;
+			this.remaining = remaining;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			if (remaining == 0)
+				return false;
+			action.accept(cur.data);
+			cur = rightOf(cur);
+			remaining--;
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super T> action) {
+			for (; remaining > 0; remaining--) {
+				action.accept(cur.data);
+				cur = rightOf(cur);
+			}
+		}
+
+		/**
+		 * hands the left half of the range to a new spliterator
+		 * runs in O(size of the range)
+		 */
+		@Override
+		public Spliterator<T> trySplit() {
+			if (remaining < 2)
+				return null;
+			int half = remaining / 2;
+			MyLinkedListNode start = cur;
+			for (int i = 0; i < half; i++)
+				cur = rightOf(cur);
+			remaining -= half;
+			return new MyLinkedListSpliterator(start, half);
+		}
+
+		@Override
+		public long estimateSize() {
+			return remaining;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | SIZED | SUBSIZED;
+		}
+	}
+
 }
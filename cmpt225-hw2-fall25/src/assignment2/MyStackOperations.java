@@ -6,9 +6,12 @@ import java.util.NoSuchElementException;
 public class MyStackOperations {
 	/**
 	 * Returns the number of elements in s.
+	 * O(1) for a SizedStack, otherwise pops s into a temporary stack and back.
 	 */
 	public static <T> int size(Stack<T> s) {
 		// TODO implement me
+		if (s instanceof SizedStack)
+			return ((SizedStack<T>) s).size();
 		int size = 0;
 		if (s.isEmpty())
 			return size;
@@ -33,14 +36,16 @@ public class MyStackOperations {
 		// TODO implement me
 		if (s.isEmpty())
 			throw new NoSuchElementException("Stack is empty");
+		if (s instanceof SizedStack)
+			return ((SizedStack<T>) s).removeBottom();
 
-		T bottom;
 		Stack<T> temp = new StackLinkedListBased<>();
 
-		for (int i = 0; i < size(s); i++)
+		// a single pass: the last element popped is the bottom
+		while (!s.isEmpty())
 			temp.push(s.pop());
 
-		bottom = s.pop();
+		T bottom = temp.pop();
 		while (!temp.isEmpty())
 			s.push(temp.pop());
 			
@@ -52,6 +57,10 @@ public class MyStackOperations {
 	 */
 	public static <T> void reverse(Stack<T> s) {
 		// TODO implement me
+		if (s instanceof SizedStack) {
+			((SizedStack<T>) s).reverse();
+			return;
+		}
 		StackLinkedListBased<T> temp1 = new StackLinkedListBased<>();
 		StackLinkedListBased<T> temp2 = new StackLinkedListBased<>();
 		
@@ -75,10 +84,11 @@ public class MyStackOperations {
 		StackLinkedListBased<T> temp2 = new StackLinkedListBased<>();
 
 		boolean result = true;
-		if (size(s1) != size(s2))
+		int size1 = size(s1);
+		if (size1 != size(s2))
 			return !result;
 		
-		if (size(s1) == 0 && size(s2) == 0)
+		if (size1 == 0)
 			return result;
 
 		while (!s1.isEmpty()) {
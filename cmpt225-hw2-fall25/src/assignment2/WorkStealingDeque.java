@@ -0,0 +1,152 @@
+package assignment2;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ *
+ * This is a Chase-Lev work-stealing deque with the left/right shape of MyLinkedList.
+ * - the owner thread adds and removes elements on the right.
+ * - any other thread (a thief) removes elements from the left.
+ * 
+ * The elements live in a circular array that doubles when full.
+ * addRight and removeRight run in amortized O(1) time and only use a
+ * compareAndSet when taking the last element; removeLeft uses one
+ * compareAndSet per element.
+ * null items are not allowed.
+ */
+public class WorkStealingDeque<T> {
+
+	private static final int INITIAL_CAPACITY = 32;
+
+	private volatile AtomicReferenceArray<T> array;
+	private final AtomicLong left; // index of the leftmost element, advanced by thieves
+	private volatile long right; // index one past the rightmost element, owned by the owner
+
+	/**
+	 * The constructor creates an empty deque
+	 */
+	public WorkStealingDeque() {
+		array = new AtomicReferenceArray<T>(INITIAL_CAPACITY);
+		left = new AtomicLong(0);
+		right = 0;
+	}
+
+	/**
+	 * Adds the new item to the right of the deque.
+	 * Must only be called by the owner thread.
+	 */
+	public void addRight(T item) {
+		if (item == null)
+			throw new NullPointerException();
+		long r = right;
+		long l = left.get();
+		AtomicReferenceArray<T> a = array;
+		if (r - l >= a.length())
+			a = grow(a, l, r);
+		a.set((int) r & (a.length() - 1), item);
+		right = r + 1;
+	}
+
+	/**
+	 * Removes the rightmost item from the deque and returns it,
+	 * or returns null if the deque is empty.
+	 * Must only be called by the owner thread.
+	 */
+	public T pollRight() {
+		long r = right - 1;
+		AtomicReferenceArray<T> a = array;
+		right = r; // volatile write, so thieves see the claim before we read left
+		long l = left.get();
+		if (l > r) {
+			// the deque was empty
+			right = l;
+			return null;
+		}
+		int index = (int) r & (a.length() - 1);
+		T ret = a.get(index);
+		if (l < r) {
+			a.set(index, null);
+			return ret;
+		}
+		// the last element: race the thieves for it
+		if (!left.compareAndSet(l, l + 1))
+			ret = null;
+		else
+			a.set(index, null);
+		right = l + 1;
+		return ret;
+	}
+
+	/**
+	 * Removes the rightmost item from the deque and returns it.
+	 * If the deque is empty, throws NoSuchElementException.
+	 * Must only be called by the owner thread.
+	 */
+	public T removeRight() {
+		T ret = pollRight();
+		if (ret == null)
+			throw new NoSuchElementException("Deque is empty");
+		return ret;
+	}
+
+	/**
+	 * Steals the leftmost item from the deque and returns it,
+	 * or returns null if the deque is empty.
+	 * May be called by any thread.
+	 */
+	public T pollLeft() {
+		while (true) {
+			long l = left.get();
+			long r = right;
+			if (l >= r)
+				return null;
+			AtomicReferenceArray<T> a = array;
+			T ret = a.get((int) l & (a.length() - 1));
+			if (left.compareAndSet(l, l + 1))
+				return ret;
+			// lost the race to another thief or to the owner, try again
+		}
+	}
+
+	/**
+	 * Steals the leftmost item from the deque and returns it.
+	 * If the deque is empty, throws NoSuchElementException.
+	 * May be called by any thread.
+	 */
+	public T removeLeft() {
+		T ret = pollLeft();
+		if (ret == null)
+			throw new NoSuchElementException("Deque is empty");
+		return ret;
+	}
+
+	/**
+	 * Returns the size of the deque.
+	 * Only a snapshot if other threads are active.
+	 */
+	public int size() {
+		long n = right - left.get();
+		return n < 0 ? 0 : (int) n;
+	}
+
+	/**
+	 * Returns true if deque is empty, and returns false otherwise.
+	 * Only a snapshot if other threads are active.
+	 */
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	// copies arr[l...r-1] into an array twice as large, keeping each element at index i mod length
+	private AtomicReferenceArray<T> grow(AtomicReferenceArray<T> old, long l, long r) {
+		AtomicReferenceArray<T> a = new AtomicReferenceArray<T>(old.length() * 2);
+		int oldMask = old.length() - 1;
+		int newMask = a.length() - 1;
+		for (long i = l; i < r; i++)
+			a.set((int) i & newMask, old.get((int) i & oldMask));
+		array = a;
+		return a;
+	}
+
+}
@@ -0,0 +1,124 @@
+package basicdatastructures.queue;
+
+/**
+ * A bounded lock-free multi-producer/multi-consumer queue
+ * Every slot of the circular array carries a sequence number that tells
+ * producers and consumers whose turn it is to use the slot, so a thread
+ * only needs a single compareAndSet on the head or tail counter to claim it.
+ * null items are not allowed.
+ */
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class ConcurrentQueueArrayBased<T> implements Queue<T> {
+
+	private final Object[] items;
+	private final AtomicLongArray sequence;
+	private final int mask;
+	private final AtomicLong tail = new AtomicLong(); // next position to enqueue
+	private final AtomicLong head = new AtomicLong(); // next position to dequeue
+
+	/**
+	 * capacity is rounded up to a power of two
+	 */
+	public ConcurrentQueueArrayBased(int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("Capacity must be positive");
+		if (capacity > 1 << 30)
+			throw new IllegalArgumentException("Capacity must be at most " + (1 << 30));
+		int n = 1;
+		while (n < capacity)
+			n <<= 1;
+		items = new Object[n];
+		sequence = new AtomicLongArray(n);
+		for (int i = 0; i < n; i++)
+			sequence.set(i, i);
+		mask = n - 1;
+	}
+
+	/**
+	 * adds an element to the tail of the queue
+	 * @return false if the queue is full
+	 */
+	public boolean offer(T item) {
+		if (item == null)
+			throw new NullPointerException();
+		long pos = tail.get();
+		int index;
+		while (true) {
+			index = (int) pos & mask;
+			long diff = sequence.get(index) - pos;
+			if (diff == 0) {
+				if (tail.compareAndSet(pos, pos + 1))
+					break;
+				pos = tail.get();
+			} else if (diff < 0) {
+				return false; // the slot still holds an element from the previous lap
+			} else {
+				pos = tail.get(); // another producer took this slot
+			}
+		}
+		items[index] = item;
+		sequence.set(index, pos + 1); // publishes the item to consumers
+		return true;
+	}
+
+	/**
+	 * removes an element from the head of the queue
+	 * @return null if the queue is empty
+	 */
+	@SuppressWarnings("unchecked")
+	public T poll() {
+		long pos = head.get();
+		int index;
+		while (true) {
+			index = (int) pos & mask;
+			long diff = sequence.get(index) - (pos + 1);
+			if (diff == 0) {
+				if (head.compareAndSet(pos, pos + 1))
+					break;
+				pos = head.get();
+			} else if (diff < 0) {
+				return null; // the producer has not filled this slot yet
+			} else {
+				pos = head.get(); // another consumer took this slot
+			}
+		}
+		T ret = (T) items[index];
+		items[index] = null;
+		sequence.set(index, pos + mask + 1); // hands the slot to the next lap of producers
+		return ret;
+	}
+
+	/**
+	 * throws IllegalStateException if the queue is full
+	 */
+	public void enqueue(T item) {
+		if (!offer(item))
+			throw new IllegalStateException("Queue is full");
+	}
+
+	/**
+	 * throws NoSuchElementException if the queue is empty
+	 */
+	public T dequeue() {
+		T ret = poll();
+		if (ret == null)
+			throw new NoSuchElementException("Queue is empty");
+		return ret;
+	}
+
+	/**
+	 * the answer may be stale by the time it is returned if other threads are active
+	 */
+	public boolean isEmpty() {
+		return head.get() >= tail.get();
+	}
+
+	public int capacity() {
+		return items.length;
+	}
+
+}
@@ -0,0 +1,104 @@
+package basicdatastructures.queue;
+
+/**
+ * An unbounded lock-free multi-producer/multi-consumer queue
+ * This is the Michael-Scott queue: a singly linked list with a dummy node
+ * at the head, where enqueue links a node after the tail with a
+ * compareAndSet and dequeue advances the head with a compareAndSet.
+ * null items are not allowed.
+ */
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ConcurrentQueueLinkedListBased<T> implements Queue<T> {
+
+	private static class Node<T> {
+		volatile T item;
+		final AtomicReference<Node<T>> next = new AtomicReference<>();
+
+		Node(T item) {
+			this.item = item;
+		}
+	}
+
+	private final AtomicReference<Node<T>> head;
+	private final AtomicReference<Node<T>> tail;
+
+	public ConcurrentQueueLinkedListBased() {
+		Node<T> dummy = new Node<>(null);
+		head = new AtomicReference<>(dummy);
+		tail = new AtomicReference<>(dummy);
+	}
+
+	/**
+	 * adds an element to the tail of the queue
+	 * always returns true since the queue is unbounded
+	 */
+	public boolean offer(T item) {
+		if (item == null)
+			throw new NullPointerException();
+		Node<T> node = new Node<>(item);
+		while (true) {
+			Node<T> last = tail.get();
+			Node<T> next = last.next.get();
+			if (last != tail.get())
+				continue;
+			if (next == null) {
+				if (last.next.compareAndSet(null, node)) {
+					tail.compareAndSet(last, node); // fine if it fails, someone helped us
+					return true;
+				}
+			} else {
+				tail.compareAndSet(last, next); // help a producer that has not swung the tail yet
+			}
+		}
+	}
+
+	/**
+	 * removes an element from the head of the queue
+	 * @return null if the queue is empty
+	 */
+	public T poll() {
+		while (true) {
+			Node<T> first = head.get();
+			Node<T> last = tail.get();
+			Node<T> next = first.next.get();
+			if (first != head.get())
+				continue;
+			if (first == last) {
+				if (next == null)
+					return null;
+				tail.compareAndSet(last, next);
+			} else {
+				T ret = next.item;
+				if (head.compareAndSet(first, next)) {
+					next.item = null; // next is the new dummy
+					return ret;
+				}
+			}
+		}
+	}
+
+	public void enqueue(T item) {
+		offer(item);
+	}
+
+	/**
+	 * throws NoSuchElementException if the queue is empty
+	 */
+	public T dequeue() {
+		T ret = poll();
+		if (ret == null)
+			throw new NoSuchElementException("Queue is empty");
+		return ret;
+	}
+
+	/**
+	 * the answer may be stale by the time it is returned if other threads are active
+	 */
+	public boolean isEmpty() {
+		return head.get().next.get() == null;
+	}
+
+}
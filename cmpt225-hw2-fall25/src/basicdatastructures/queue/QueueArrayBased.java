@@ -1,41 +1,110 @@
 package basicdatastructures.queue;
 
 /**
- * Implementing a Stack using LinkedList - this is a doubly linked list
- *   
+ * Implementing a Queue using a circular array
+ * The capacity is always a power of two, so wrapping an index around
+ * is a single bitwise and. The array doubles when full and halves
+ * when it is at most a quarter full, but never below the capacity
+ * asked for in the constructor.
+ *
  * @author Igor
  *
  */
 
-import java.util.ArrayList;
+import java.util.NoSuchElementException;
 
 public class QueueArrayBased<T> implements Queue<T> {
 
-	ArrayList<T> list;
-	
+	private static final int MIN_CAPACITY = 16;
+	private static final int MAX_CAPACITY = 1 << 30; // the largest power of two an int can hold
+
+	private T[] items;
+	private int head; // index of the first element
+	private int tail; // index where the next element goes
+	private int size;
+	private final int minCapacity; // the array never shrinks below this
+
 	public QueueArrayBased() {
-		list = new ArrayList<T>();
+		this(MIN_CAPACITY);
+	}
+
+	public QueueArrayBased(int initialCapacity) {
+		if (initialCapacity < 0)
+			throw new IllegalArgumentException("Capacity must be non-negative");
+		if (initialCapacity > MAX_CAPACITY)
+			throw new IllegalArgumentException("Capacity must be at most " + MAX_CAPACITY);
+		int capacity = MIN_CAPACITY;
+		while (capacity < initialCapacity)
+			capacity <<= 1;
+		minCapacity = capacity;
+		items = newArray(capacity);
+		head = 0;
+		tail = 0;
+		size = 0;
 	}
 
 	/**
+	 * amortized O(1)
 	 * when need to resize the running time is O(size of queue)
 	 */
 	public void enqueue(T item) {
-		list.add(item); // adds to the end of the array
+		if (size == items.length) {
+			if (items.length == MAX_CAPACITY)
+				throw new IllegalStateException("Queue is full");
+			resize(items.length << 1);
+		}
+		items[tail] = item;
+		tail = (tail + 1) & (items.length - 1);
+		size++;
 	}
-	
+
 	/**
-	 * running time is  O(size of queue)
+	 * amortized O(1)
 	 */
 	public T dequeue() {
-		return list.remove(0); // remove from position 0
+		if (size == 0)
+			throw new NoSuchElementException("Queue is empty");
+		T ret = items[head];
+		items[head] = null; // let the element be garbage collected
+		head = (head + 1) & (items.length - 1);
+		size--;
+		if (items.length > minCapacity && size <= items.length >> 2)
+			resize(items.length >> 1);
+		return ret;
 	}
-	
+
 	public boolean isEmpty() {
-		return list.size()==0;
+		return size==0;
 	}
-	
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * the length of the underlying array
+	 */
+	public int capacity() {
+		return items.length;
+	}
+
+	// copies the elements in order into a new array starting at index 0
+	private void resize(int capacity) {
+		T[] newItems = newArray(capacity);
+		int mask = items.length - 1;
+		for (int i = 0; i < size; i++)
+			newItems[i] = items[(head + i) & mask];
+		items = newItems;
+		head = 0;
+		tail = size & (capacity - 1);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T[] newArray(int capacity) {
+		return (T[]) new Object[capacity];
+	}
+
 }
 
 
-	
\ No newline at end of file
+
@@ -0,0 +1,177 @@
+package basicdatastructures.queue;
+
+/**
+ * A bounded wait-free queue for exactly one producer thread and one consumer thread
+ * Only the producer writes the tail and only the consumer writes the head,
+ * so no compareAndSet is needed. Each side keeps a private copy of the other
+ * side's index and only rereads it when the copy says the queue is full/empty.
+ * The two indices live 128 bytes apart so they never share a cache line,
+ * and each side's private copy sits right after its own index, so all the
+ * writes of one thread stay in that thread's line.
+ * null items are not allowed.
+ */
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class SpscQueueArrayBased<T> implements Queue<T> {
+
+	// 16 longs = 128 bytes between the two indices, enough for adjacent line prefetching
+	private static final int PAD = 16;
+	private static final int HEAD = PAD;
+	private static final int CACHED_TAIL = HEAD + 1; // consumer's copy of tail
+	private static final int TAIL = 2 * PAD;
+	private static final int CACHED_HEAD = TAIL + 1; // producer's copy of head
+
+	private final Object[] items;
+	private final int mask;
+	// the cached copies are only used by one thread, so they are read and written with plain accesses
+	private final AtomicLongArray indices = new AtomicLongArray(3 * PAD);
+
+	/**
+	 * capacity is rounded up to a power of two
+	 */
+	public SpscQueueArrayBased(int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("Capacity must be positive");
+		if (capacity > 1 << 30)
+			throw new IllegalArgumentException("Capacity must be at most " + (1 << 30));
+		int n = 1;
+		while (n < capacity)
+			n <<= 1;
+		items = new Object[n];
+		mask = n - 1;
+	}
+
+	/**
+	 * may only be called from the producer thread
+	 * @return false if the queue is full
+	 */
+	public boolean offer(T item) {
+		if (item == null)
+			throw new NullPointerException();
+		long tail = indices.get(TAIL);
+		if (tail - indices.getPlain(CACHED_HEAD) == items.length) {
+			long head = indices.get(HEAD);
+			indices.setPlain(CACHED_HEAD, head);
+			if (tail - head == items.length)
+				return false;
+		}
+		items[(int) tail & mask] = item;
+		indices.lazySet(TAIL, tail + 1);
+		return true;
+	}
+
+	/**
+	 * may only be called from the consumer thread
+	 * @return null if the queue is empty
+	 */
+	@SuppressWarnings("unchecked")
+	public T poll() {
+		long head = indices.get(HEAD);
+		if (head == indices.getPlain(CACHED_TAIL)) {
+			long tail = indices.get(TAIL);
+			indices.setPlain(CACHED_TAIL, tail);
+			if (head == tail)
+				return null;
+		}
+		int index = (int) head & mask;
+		T ret = (T) items[index];
+		items[index] = null;
+		indices.lazySet(HEAD, head + 1);
+		return ret;
+	}
+
+	/**
+	 * moves up to limit elements into c, publishing the new head once for the whole batch
+	 * may only be called from the consumer thread
+	 * if c.add throws, the elements added so far are removed and the rest stay in the queue
+	 * @return the number of elements moved
+	 */
+	@SuppressWarnings("unchecked")
+	public int drainTo(Collection<? super T> c, int limit) {
+		long head = indices.get(HEAD);
+		long tail = indices.getPlain(CACHED_TAIL);
+		if (tail - head < limit) {
+			tail = indices.get(TAIL);
+			indices.setPlain(CACHED_TAIL, tail);
+		}
+		int n = (int) Math.min(tail - head, limit);
+		int moved = 0;
+		try {
+			while (moved < n) {
+				int index = (int) (head + moved) & mask;
+				c.add((T) items[index]);
+				items[index] = null;
+				moved++;
+			}
+		} finally {
+			if (moved > 0)
+				indices.lazySet(HEAD, head + moved);
+		}
+		return moved;
+	}
+
+	/**
+	 * moves up to limit elements from it into the queue, publishing the new tail
+	 * once for the whole batch
+	 * may only be called from the producer thread
+	 * if it throws or returns null, the elements taken from it before that stay in the queue
+	 * @return the number of elements added
+	 */
+	public int fillFrom(Iterator<? extends T> it, int limit) {
+		long tail = indices.get(TAIL);
+		long head = indices.getPlain(CACHED_HEAD);
+		if (items.length - (tail - head) < limit) {
+			head = indices.get(HEAD);
+			indices.setPlain(CACHED_HEAD, head);
+		}
+		int n = (int) Math.min(items.length - (tail - head), limit);
+		int added = 0;
+		try {
+			while (added < n && it.hasNext()) {
+				T item = it.next();
+				if (item == null)
+					throw new NullPointerException();
+				items[(int) (tail + added) & mask] = item;
+				added++;
+			}
+		} finally {
+			if (added > 0)
+				indices.lazySet(TAIL, tail + added);
+		}
+		return added;
+	}
+
+	/**
+	 * throws IllegalStateException if the queue is full
+	 */
+	public void enqueue(T item) {
+		if (!offer(item))
+			throw new IllegalStateException("Queue is full");
+	}
+
+	/**
+	 * throws NoSuchElementException if the queue is empty
+	 */
+	public T dequeue() {
+		T ret = poll();
+		if (ret == null)
+			throw new NoSuchElementException("Queue is empty");
+		return ret;
+	}
+
+	/**
+	 * the answer may be stale by the time it is returned if the other thread is active
+	 */
+	public boolean isEmpty() {
+		return indices.get(HEAD) == indices.get(TAIL);
+	}
+
+	public int capacity() {
+		return items.length;
+	}
+
+}
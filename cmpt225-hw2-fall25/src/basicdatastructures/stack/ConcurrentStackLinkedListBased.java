@@ -0,0 +1,106 @@
+package basicdatastructures.stack;
+
+/**
+ * A lock-free stack (Treiber stack) with an elimination array
+ * push and pop swing the top pointer with a single compareAndSet.
+ * When that compareAndSet fails because of contention, the thread visits a
+ * random slot of the elimination array, where a push and a pop that arrive
+ * at the same time cancel each other without touching the top at all.
+ * null items are not allowed.
+ */
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class ConcurrentStackLinkedListBased<T> implements Stack<T> {
+
+	private static class Node<T> {
+		final T item;
+		Node<T> next;
+
+		Node(T item) {
+			this.item = item;
+		}
+	}
+
+	private static final int ELIMINATION_SIZE =
+			Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() / 2, 32));
+	private static final int SPINS = 64; // how long a push waits in a slot for a pop
+
+	private final AtomicReference<Node<T>> top = new AtomicReference<>();
+	private final AtomicReferenceArray<Node<T>> elimination = new AtomicReferenceArray<>(ELIMINATION_SIZE);
+
+	public void push(T item) {
+		if (item == null)
+			throw new NullPointerException();
+		Node<T> node = new Node<>(item);
+		while (true) {
+			Node<T> oldTop = top.get();
+			node.next = oldTop;
+			if (top.compareAndSet(oldTop, node))
+				return;
+			if (eliminatePush(node))
+				return;
+		}
+	}
+
+	/**
+	 * throws NoSuchElementException if the stack is empty
+	 */
+	public T pop() {
+		T ret = poll();
+		if (ret == null)
+			throw new NoSuchElementException("Stack is empty");
+		return ret;
+	}
+
+	/**
+	 * removes the top element
+	 * @return null if the stack is empty
+	 */
+	public T poll() {
+		while (true) {
+			Node<T> oldTop = top.get();
+			if (oldTop == null)
+				return null;
+			if (top.compareAndSet(oldTop, oldTop.next))
+				return oldTop.item;
+			Node<T> other = eliminatePop();
+			if (other != null)
+				return other.item;
+		}
+	}
+
+	/**
+	 * the answer may be stale by the time it is returned if other threads are active
+	 */
+	public boolean isEmpty() {
+		return top.get() == null;
+	}
+
+	// parks node in a random slot for a while; true if a pop took it
+	private boolean eliminatePush(Node<T> node) {
+		int index = ThreadLocalRandom.current().nextInt(ELIMINATION_SIZE);
+		if (!elimination.compareAndSet(index, null, node))
+			return false;
+		for (int i = 0; i < SPINS; i++) {
+			if (elimination.get(index) != node)
+				return true;
+			Thread.onSpinWait();
+		}
+		// withdraw the offer; if that fails a pop took it just now
+		return !elimination.compareAndSet(index, node, null);
+	}
+
+	// takes a node parked by a concurrent push, or returns null
+	private Node<T> eliminatePop() {
+		int index = ThreadLocalRandom.current().nextInt(ELIMINATION_SIZE);
+		Node<T> node = elimination.get(index);
+		if (node != null && elimination.compareAndSet(index, node, null))
+			return node;
+		return null;
+	}
+
+}
@@ -0,0 +1,100 @@
+package basicdatastructures.stack;
+
+/**
+ * Implementing a stack of ints using a raw int[]
+ * push(int) and popInt() never box, and run in amortized O(1) time.
+ * push(Integer) and pop() are there so that IntStack can be passed
+ * to code written against Stack<Integer>.
+ * Unlike StackArrayBased, it cannot hold null: push(Integer) unboxes its
+ * argument, so pushing null throws NullPointerException.
+ */
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class IntStack implements SizedStack<Integer> {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private int[] items;
+	private int size;
+
+	public IntStack() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public IntStack(int initialCapacity) {
+		if (initialCapacity < 0)
+			throw new IllegalArgumentException("Capacity must be non-negative");
+		items = new int[Math.max(initialCapacity, 1)];
+		size = 0;
+	}
+
+	/**
+	 * when need to resize the running time is O(size of stack)
+	 */
+	public void push(int item) {
+		if (size == items.length)
+			items = Arrays.copyOf(items, items.length * 2);
+		items[size++] = item;
+	}
+
+	public int popInt() {
+		if (size == 0)
+			throw new NoSuchElementException("Stack is empty");
+		return items[--size];
+	}
+
+	public int peekInt() {
+		if (size == 0)
+			throw new NoSuchElementException("Stack is empty");
+		return items[size - 1];
+	}
+
+	public void push(Integer item) {
+		push(item.intValue());
+	}
+
+	public Integer pop() {
+		return popInt();
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public Integer peekBottom() {
+		if (size == 0)
+			throw new NoSuchElementException("Stack is empty");
+		return items[0];
+	}
+
+	// running time is O(size of stack)
+	public Integer removeBottom() {
+		if (size == 0)
+			throw new NoSuchElementException("Stack is empty");
+		int ret = items[0];
+		System.arraycopy(items, 1, items, 0, --size);
+		return ret;
+	}
+
+	public void reverse() {
+		for (int i = 0, j = size - 1; i < j; i++, j--) {
+			int temp = items[i];
+			items[i] = items[j];
+			items[j] = temp;
+		}
+	}
+
+	/**
+	 * removes all elements, keeping the allocated array
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+}
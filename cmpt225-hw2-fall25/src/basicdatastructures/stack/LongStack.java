@@ -0,0 +1,100 @@
+package basicdatastructures.stack;
+
+/**
+ * Implementing a stack of longs using a raw long[]
+ * push(long) and popLong() never box, and run in amortized O(1) time.
+ * push(Long) and pop() are there so that LongStack can be passed
+ * to code written against Stack<Long>.
+ * Unlike StackArrayBased, it cannot hold null: push(Long) unboxes its
+ * argument, so pushing null throws NullPointerException.
+ */
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class LongStack implements SizedStack<Long> {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private long[] items;
+	private int size;
+
+	public LongStack() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public LongStack(int initialCapacity) {
+		if (initialCapacity < 0)
+			throw new IllegalArgumentException("Capacity must be non-negative");
+		items = new long[Math.max(initialCapacity, 1)];
+		size = 0;
+	}
+
+	/**
+	 * when need to resize the running time is O(size of stack)
+	 */
+	public void push(long item) {
+		if (size == items.length)
+			items = Arrays.copyOf(items, items.length * 2);
+		items[size++] = item;
+	}
+
+	public long popLong() {
+		if (size == 0)
+			throw new NoSuchElementException("Stack is empty");
+		return items[--size];
+	}
+
+	public long peekLong() {
+		if (size == 0)
+			throw new NoSuchElementException("Stack is empty");
+		return items[size - 1];
+	}
+
+	public void push(Long item) {
+		push(item.longValue());
+	}
+
+	public Long pop() {
+		return popLong();
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public Long peekBottom() {
+		if (size == 0)
+			throw new NoSuchElementException("Stack is empty");
+		return items[0];
+	}
+
+	// running time is O(size of stack)
+	public Long removeBottom() {
+		if (size == 0)
+			throw new NoSuchElementException("Stack is empty");
+		long ret = items[0];
+		System.arraycopy(items, 1, items, 0, --size);
+		return ret;
+	}
+
+	public void reverse() {
+		for (int i = 0, j = size - 1; i < j; i++, j--) {
+			long temp = items[i];
+			items[i] = items[j];
+			items[j] = temp;
+		}
+	}
+
+	/**
+	 * removes all elements, keeping the allocated array
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+}
@@ -0,0 +1,28 @@
+package basicdatastructures.stack;
+
+/**
+ * A stack that can answer size and bottom queries directly,
+ * without popping its elements into a temporary stack
+ */
+public interface SizedStack<T> extends Stack<T> {
+
+	public int size();
+
+	/**
+	 * returns the bottom element without removing it
+	 * throws NoSuchElementException if the stack is empty
+	 */
+	public T peekBottom();
+
+	/**
+	 * removes the bottom element and returns it
+	 * throws NoSuchElementException if the stack is empty
+	 */
+	public T removeBottom();
+
+	/**
+	 * reverses the order of the elements in place
+	 */
+	public void reverse();
+
+}
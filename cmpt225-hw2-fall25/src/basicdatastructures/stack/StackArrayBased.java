@@ -9,8 +9,10 @@ package basicdatastructures.stack;
  */
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.NoSuchElementException;
 
-public class StackArrayBased<T> implements Stack<T> {
+public class StackArrayBased<T> implements SizedStack<T> {
 
 	private ArrayList<T> list;
 	
@@ -30,6 +32,27 @@ public class StackArrayBased<T> implements Stack<T> {
 	public boolean isEmpty() {
 		return list.size() == 0;
 	}
+
+	public int size() {
+		return list.size();
+	}
+
+	public T peekBottom() {
+		if (list.isEmpty())
+			throw new NoSuchElementException("Stack is empty");
+		return list.get(0);
+	}
+
+	// running time is O(size of stack)
+	public T removeBottom() {
+		if (list.isEmpty())
+			throw new NoSuchElementException("Stack is empty");
+		return list.remove(0);
+	}
+
+	public void reverse() {
+		Collections.reverse(list);
+	}
 	
 }
 
@@ -2,15 +2,16 @@ package basicdatastructures.stack;
 
 /**
  * Implementing a Stack using LinkedList
- * All operations run in O(1) time
+ * All operations run in O(1) time, except reverse which is O(size of stack)
  *   
  * @author Igor
  *
  */
 
+import java.util.Collections;
 import java.util.LinkedList;
 
-public class StackLinkedListBased<T> implements Stack<T> {
+public class StackLinkedListBased<T> implements SizedStack<T> {
 
 	private LinkedList<T> list;
 	
@@ -29,6 +30,22 @@ public class StackLinkedListBased<T> implements Stack<T> {
 	public boolean isEmpty() {
 		return list.isEmpty();
 	}
+
+	public int size() {
+		return list.size();
+	}
+
+	public T peekBottom() {
+		return list.getLast();
+	}
+
+	public T removeBottom() {
+		return list.removeLast();
+	}
+
+	public void reverse() {
+		Collections.reverse(list);
+	}
 	
 }
 
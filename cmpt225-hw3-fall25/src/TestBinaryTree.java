@@ -1,7 +1,17 @@
+import binarytree.AugmentedBTNode;
+import binarytree.BTIterator;
 import binarytree.BTNode;
 import binarytree.BinaryTree;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 
 public class TestBinaryTree<T> {
 
@@ -103,11 +113,356 @@ public class TestBinaryTree<T> {
     }
 
 
+    /**
+     * a list-shaped tree, deep enough to overflow the call stack if traversed recursively
+     */
+    public static BinaryTree<Integer> createDeepTree(int n) {
+        BTNode<Integer> root = new BTNode<Integer>(0);
+        BTNode<Integer> cur = root;
+        for (int i = 1; i < n; i++) {
+            BTNode<Integer> next = new BTNode<Integer>(i);
+            cur.setLeftChild(next);
+            cur = next;
+        }
+        return new BinaryTree<Integer>(root);
+    }
+
+    public static void testDeepTree() {
+        BinaryTree<Integer> tree = createDeepTree(1000000);
+        // the small trees reuse the thread's spare stack, which must come back empty
+        BinaryTree<Integer> small = createDeepTree(10);
+        if (tree.size() == 1000000 && tree.height() == 999999 && tree.numberOfLeaves() == 1
+                && small.size() == 10 && small.height() == 9 && small.size() == 10 && small.numberOfLeaves() == 1)
+            System.out.println("deepTree OK");
+        else
+            System.out.println("deepTree ERROR");
+    }
+
+
+    public static void testAugmentedNode() {
+        AugmentedBTNode<Integer> node4 = new AugmentedBTNode<Integer>(4,
+                new AugmentedBTNode<Integer>(8), new AugmentedBTNode<Integer>(-2), null);
+        AugmentedBTNode<Integer> node2 = new AugmentedBTNode<Integer>(2, new AugmentedBTNode<Integer>(1), node4, null);
+        AugmentedBTNode<Integer> node6 = new AugmentedBTNode<Integer>(6);
+        AugmentedBTNode<Integer> root = new AugmentedBTNode<Integer>(5, node2, node6, null);
+        BinaryTree<Integer> tree = new BinaryTree<Integer>(root);
+
+        boolean flag = tree.size() == 7 && tree.height() == 3;
+
+        // growing the tree under 6 must update 6 and 5
+        AugmentedBTNode<Integer> node100 = new AugmentedBTNode<Integer>(100);
+        node6.setLeftChild(node100);
+        node100.setLeftChild(new AugmentedBTNode<Integer>(7));
+        node100.setRightChild(new AugmentedBTNode<Integer>(9));
+        flag = flag && node6.size() == 4 && node6.height() == 2 && tree.size() == 10 && tree.height() == 3;
+
+        // removing the subtree under 2 must shrink 2 and 5
+        node2.setRightChild(null);
+        flag = flag && node2.size() == 2 && tree.size() == 7 && tree.height() == 3
+                && tree.countDepthK(3) == 2;
+
+        if (flag)
+            System.out.println("augmentedNode OK");
+        else
+            System.out.println("augmentedNode ERROR");
+    }
+
+
+    public static void testTraversals() {
+        BTNode<Integer> root = createTree().getRoot();
+        ArrayList<BTNode<Integer>> pre = new ArrayList<>();
+        ArrayList<BTNode<Integer>> in = new ArrayList<>();
+        ArrayList<BTNode<Integer>> post = new ArrayList<>();
+        ArrayList<BTNode<Integer>> level = new ArrayList<>();
+        root.preOrder(pre);
+        root.inOrder(in);
+        root.postOrder(post);
+        root.levelOrder(level);
+
+        if (data(pre).equals("[5, 2, 1, 4, 8, -2, 6]")
+                && data(root.preOrder()).equals("[5, 2, 1, 4, 8, -2, 6]")
+                && data(in).equals("[1, 2, 8, 4, -2, 5, 6]")
+                && data(post).equals("[1, 8, -2, 4, 2, 6, 5]")
+                && data(level).equals("[5, 2, 6, 1, 4, 8, -2]"))
+            System.out.println("traversals OK");
+        else
+            System.out.println("traversals ERROR");
+    }
+
+    public static void testLazyIterators() {
+        BinaryTree<Integer> tree = createTree();
+        if (collect(tree.inOrderIterator()).equals("[1, 2, 8, 4, -2, 5, 6]")
+                && collect(tree.postOrderIterator()).equals("[1, 8, -2, 4, 2, 6, 5]")
+                && collect(tree.levelOrderIterator()).equals("[5, 2, 6, 1, 4, 8, -2]")
+                && collect(createDeepTree(1000000).inOrderIterator()).length() > 0)
+            System.out.println("lazyIterators OK");
+        else
+            System.out.println("lazyIterators ERROR");
+    }
+
+    public static void testIteratorReset() {
+        BinaryTree<Integer> tree = createTree();
+        BTIterator<Integer> it = new BTIterator<Integer>(tree.getRoot(), 1);
+        String first = collect(it);
+        it.reset(tree.getRoot().getLeftChild());
+        String second = collect(it);
+        it.reset(null);
+        boolean exhausted = false;
+        try {
+            it.getCur();
+        } catch (NoSuchElementException e) {
+            exhausted = true;
+        }
+
+        if (first.equals("[5, 2, 1, 4, 8, -2, 6]") && second.equals("[2, 1, 4, 8, -2]") && !it.hasNext() && exhausted)
+            System.out.println("iteratorReset OK");
+        else
+            System.out.println("iteratorReset ERROR");
+    }
+
+    public static void testMorris() {
+        BinaryTree<Integer> tree = createTree();
+        ArrayList<Integer> in = new ArrayList<>();
+        ArrayList<Integer> pre = new ArrayList<>();
+        tree.morrisInOrder(in::add);
+        tree.morrisPreOrder(pre::add);
+
+        // a visitor that fails half way must still leave the tree restored
+        boolean thrown = false;
+        try {
+            tree.morrisInOrder(x -> {
+                if (x == 4)
+                    throw new IllegalStateException();
+            });
+        } catch (IllegalStateException e) {
+            thrown = true;
+        }
+
+        // an Error is deferred the same way
+        boolean errorThrown = false;
+        try {
+            tree.morrisPreOrder(x -> {
+                if (x == 4)
+                    throw new AssertionError();
+            });
+        } catch (AssertionError e) {
+            errorThrown = true;
+        }
+
+        // the tree has cycles while it is threaded, so reading it from the visitor must fail
+        ArrayList<Class<?>> failures = new ArrayList<>();
+        List<Runnable> readers = Arrays.asList(tree::size, tree::height, tree::numberOfLeaves, tree::hashCode,
+                () -> tree.countDepthK(2), tree::preOrderIterator, tree::inOrderIterator, tree::stream,
+                tree::parallelSize, () -> tree.equals(createTree()), () -> tree.morrisInOrder(x -> { }));
+        for (Runnable reader : readers) {
+            try {
+                tree.morrisInOrder(x -> {
+                    if (x == 8)
+                        reader.run();
+                });
+            } catch (RuntimeException e) {
+                failures.add(e.getClass());
+            }
+        }
+        boolean guarded = failures.size() == readers.size()
+                && failures.stream().allMatch(c -> c == ConcurrentModificationException.class);
+
+        // and the other way round: a Morris traversal must not start while the tree is being read
+        boolean refused = false;
+        try {
+            tree.parallelReduce(x -> {
+                tree.morrisInOrder(y -> { });
+                return x;
+            }, Integer::sum);
+        } catch (ConcurrentModificationException e) {
+            refused = true;
+        }
+
+        if (in.toString().equals("[1, 2, 8, 4, -2, 5, 6]")
+                && pre.toString().equals("[5, 2, 1, 4, 8, -2, 6]")
+                && thrown && errorThrown && guarded && refused
+                && tree.equals(createTree()) && tree.size() == 7)
+            System.out.println("morris OK");
+        else
+            System.out.println("morris ERROR");
+    }
+
+    /**
+     * a complete tree of the given height, holding 1 in every node
+     */
+    public static BTNode<Integer> createFullTree(int height) {
+        if (height == 0)
+            return new BTNode<Integer>(1);
+        return new BTNode<Integer>(1, createFullTree(height - 1), createFullTree(height - 1), null);
+    }
+
+    public static void testParallelAggregates() {
+        BinaryTree<Integer> small = createTree();
+        BinaryTree<Integer> big = new BinaryTree<Integer>(createFullTree(18));
+        BinaryTree<Integer> deep = createDeepTree(100000);
+
+        if (small.parallelSize() == 7 && small.parallelHeight() == 3
+                && small.parallelNumberOfLeaves() == 4 && small.parallelCountDepthK(2) == 2
+                && small.parallelReduce(x -> x, Integer::sum) == 24
+                && big.parallelSize() == big.size() && big.parallelHeight() == 18
+                && big.parallelNumberOfLeaves() == 1 << 18 && big.parallelCountDepthK(10) == 1 << 10
+                && big.parallelReduce(x -> (long) x, Long::sum) == big.size()
+                && deep.parallelSize() == 100000 && deep.parallelHeight() == 99999)
+            System.out.println("parallelAggregates OK");
+        else
+            System.out.println("parallelAggregates ERROR");
+    }
+
+    /**
+     * the same shape as createFullTree, using AugmentedBTNodes numbered in preOrder from first
+     */
+    public static AugmentedBTNode<Integer> createAugmentedFullTree(int height, int first) {
+        if (height == 0)
+            return new AugmentedBTNode<Integer>(first);
+        AugmentedBTNode<Integer> left = createAugmentedFullTree(height - 1, first + 1);
+        AugmentedBTNode<Integer> right = createAugmentedFullTree(height - 1, first + 1 + left.size());
+        return new AugmentedBTNode<Integer>(first, left, right, null);
+    }
+
+    public static void testStreams() {
+        BinaryTree<Integer> tree = createTree();
+        BinaryTree<Integer> plain = new BinaryTree<Integer>(createFullTree(16));
+        BinaryTree<Integer> augmented = new BinaryTree<Integer>(createAugmentedFullTree(16, 0));
+        int n = augmented.size();
+
+        // an augmented root over plain subtrees; growing a plain subtree leaves the root's size stale
+        BTNode<Integer> plainLeft = createFullTree(4);
+        BinaryTree<Integer> mixed = new BinaryTree<Integer>(
+                new AugmentedBTNode<Integer>(1, plainLeft, createFullTree(4), null));
+        plainLeft.getLeftChild().getLeftChild().getLeftChild().getLeftChild().setLeftChild(new BTNode<Integer>(1));
+        int mixedSize = 1 + 2 * 31 + 1;
+
+        List<Integer> ordered = augmented.parallelStream().collect(Collectors.toList());
+        boolean inOrder = ordered.size() == n;
+        for (int i = 0; i < ordered.size() && inOrder; i++)
+            inOrder = ordered.get(i) == i;
+
+        if (tree.stream().collect(Collectors.toList()).toString().equals("[5, 2, 1, 4, 8, -2, 6]")
+                && tree.parallelStream().collect(Collectors.toList()).toString().equals("[5, 2, 1, 4, 8, -2, 6]")
+                && plain.parallelStream().mapToInt(x -> x).sum() == plain.size()
+                && augmented.spliterator().hasCharacteristics(Spliterator.SIZED)
+                && augmented.spliterator().getExactSizeIfKnown() == n
+                && !plain.spliterator().hasCharacteristics(Spliterator.SIZED)
+                && augmented.parallelStream().count() == n
+                && !mixed.spliterator().hasCharacteristics(Spliterator.SIZED)
+                && mixed.parallelStream().count() == mixedSize
+                && mixed.parallelStream().toArray().length == mixedSize
+                && inOrder)
+            System.out.println("streams OK");
+        else
+            System.out.println("streams ERROR");
+    }
+
+    public static void testLevelWidths() {
+        BinaryTree<Integer> tree = createTree();
+        if (Arrays.toString(tree.levelWidths()).equals("[1, 2, 2, 2]")
+                && Arrays.toString(tree.levelWidths(1)).equals("[1, 2]")
+                && Arrays.toString(tree.levelWidths(10)).equals("[1, 2, 2, 2]")
+                && createDeepTree(100).levelWidths().length == 100
+                && tree.countDepthK(3) == 2 && tree.countDepthK(4) == 0)
+            System.out.println("levelWidths OK");
+        else
+            System.out.println("levelWidths ERROR");
+    }
+
+    public static void testHashCode() {
+        BinaryTree<Integer> tree1 = createTree();
+        BinaryTree<Integer> tree2 = createTree();
+        boolean flag = tree1.hashCode() == tree2.hashCode() && tree1.equals(tree2);
+
+        // modifying a node must invalidate the cached hash
+        int before = tree2.hashCode();
+        tree2.getRoot().getRightChild().setLeftChild(new BTNode<Integer>(3));
+        flag = flag && tree2.hashCode() != before && !tree1.equals(tree2) && !tree2.equals(tree1);
+
+        // a change deep in the tree reaches the root through the parent links; changing another tree does not matter
+        BTNode<Integer> node8 = tree1.getRoot().getLeftChild().getRightChild().getLeftChild();
+        before = tree1.hashCode();
+        node8.setData(80);
+        int changed = tree1.hashCode();
+        node8.setData(8);
+        flag = flag && changed != before && tree1.hashCode() == before && tree1.equals(createTree());
+
+        // threads computing the hash at the same time all see a complete result
+        BinaryTree<Integer> shared = new BinaryTree<Integer>(createFullTree(14));
+        int expected = new BinaryTree<Integer>(createFullTree(14)).hashCode();
+        int[] seen = new int[4];
+        Thread[] threads = new Thread[seen.length];
+        for (int i = 0; i < threads.length; i++) {
+            int id = i;
+            threads[i] = new Thread(() -> seen[id] = shared.hashCode());
+            threads[i].start();
+        }
+        try {
+            for (Thread t : threads)
+                t.join();
+        } catch (InterruptedException e) {
+            flag = false;
+        }
+        for (int h : seen)
+            flag = flag && h == expected;
+
+        // same data in a different shape
+        BinaryTree<Integer> left = new BinaryTree<Integer>(new BTNode<Integer>(1, new BTNode<Integer>(2), null, null));
+        BinaryTree<Integer> right = new BinaryTree<Integer>(new BTNode<Integer>(1, null, new BTNode<Integer>(2), null));
+        flag = flag && left.hashCode() != right.hashCode() && !left.equals(right);
+
+        // an augmented root over a plain child that grew afterwards has stale stored sizes,
+        // so it must be compared node by node with the same tree built only from AugmentedBTNodes
+        BTNode<Integer> plainChild = new BTNode<Integer>(2);
+        BinaryTree<Integer> mixed = new BinaryTree<Integer>(new AugmentedBTNode<Integer>(1, plainChild, null, null));
+        plainChild.setLeftChild(new BTNode<Integer>(3));
+        BinaryTree<Integer> allAugmented = new BinaryTree<Integer>(new AugmentedBTNode<Integer>(1,
+                new AugmentedBTNode<Integer>(2, new AugmentedBTNode<Integer>(3), null, null), null, null));
+        flag = flag && mixed.equals(allAugmented) && allAugmented.equals(mixed)
+                && mixed.hashCode() == allAugmented.hashCode();
+
+        HashMap<BinaryTree<Integer>, String> map = new HashMap<>();
+        map.put(tree1, "tree");
+        flag = flag && "tree".equals(map.get(createTree()))
+                && createDeepTree(1000000).equals(createDeepTree(1000000));
+
+        if (flag)
+            System.out.println("hashCode OK");
+        else
+            System.out.println("hashCode ERROR");
+    }
+
+    private static String collect(Iterator<Integer> it) {
+        ArrayList<Integer> ret = new ArrayList<>();
+        while (it.hasNext())
+            ret.add(it.next());
+        return ret.toString();
+    }
+
+    private static String data(ArrayList<BTNode<Integer>> nodes) {
+        ArrayList<Integer> ret = new ArrayList<>();
+        for (BTNode<Integer> node : nodes)
+            ret.add(node.getData());
+        return ret.toString();
+    }
+
+
     public static void main(String[] args) {
         testNumberOfLeaves();
         testEquals();
         testCountDepthK();
         testPreOrderIterator();
+        testDeepTree();
+        testAugmentedNode();
+        testTraversals();
+        testLazyIterators();
+        testIteratorReset();
+        testMorris();
+        testParallelAggregates();
+        testStreams();
+        testLevelWidths();
+        testHashCode();
     }
 
 }
@@ -1,5 +1,8 @@
 import sorting.MySortingAlgs;
 
+import java.util.Arrays;
+import java.util.Random;
+
 public class TestSorting<T> {
     public static void testSortStrings1() {
         String[] a = {"hello", "World", "1", "2", "12345678"};
@@ -53,12 +56,208 @@ public class TestSorting<T> {
         System.out.println("testMerge2 OK");
     }
 
+    /**
+     * pairs sorted by key only, to check that equal keys keep their order
+     */
+    static class Pair implements Comparable<Pair> {
+        final int key;
+        final int index;
+
+        Pair(int key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+
+        @Override
+        public int compareTo(Pair other) {
+            return Integer.compare(key, other.key);
+        }
+    }
+
+    static Pair[] randomPairs(int n, int keys, long seed) {
+        Random rnd = new Random(seed);
+        Pair[] a = new Pair[n];
+        for (int i = 0; i < n; i++)
+            a[i] = new Pair(rnd.nextInt(keys), i);
+        return a;
+    }
+
+    static boolean sortedAndStable(Pair[] a) {
+        for (int i = 1; i < a.length; i++)
+            if (a[i - 1].key > a[i].key || (a[i - 1].key == a[i].key && a[i - 1].index > a[i].index))
+                return false;
+        return true;
+    }
+
+    public static void testMergeSortBuffered() {
+        Pair[] scratch = new Pair[1000];
+        for (int n = 0; n <= 1000; n += 37) {
+            Pair[] a = randomPairs(n, 10, n);
+            Pair[] b = randomPairs(n, 10, n);
+            MySortingAlgs.mergeSortBuffered(a);
+            MySortingAlgs.mergeSort(b, scratch);
+            if (!sortedAndStable(a) || !sortedAndStable(b)) {
+                System.out.println("testMergeSortBuffered ERROR");
+                return;
+            }
+        }
+        System.out.println("testMergeSortBuffered OK");
+    }
+
+    public static void testHybridSort() {
+        for (int n = 0; n <= 2000; n += 41) {
+            Pair[] random = randomPairs(n, 10, n);
+            // nearly sorted: ascending keys with a few swaps, plus a descending block
+            Pair[] nearly = new Pair[n];
+            for (int i = 0; i < n; i++)
+                nearly[i] = new Pair(i < n / 2 ? i / 3 : n - i, i);
+            for (int i = 0; i + 5 < n; i += 97) {
+                Pair temp = nearly[i];
+                nearly[i] = nearly[i + 5];
+                nearly[i + 5] = temp;
+            }
+            for (int i = 0; i < n; i++)
+                nearly[i] = new Pair(nearly[i].key, i);
+
+            MySortingAlgs.hybridSort(random);
+            MySortingAlgs.hybridSort(nearly);
+            if (!sortedAndStable(random) || !sortedAndStable(nearly)) {
+                System.out.println("testHybridSort ERROR");
+                return;
+            }
+        }
+        System.out.println("testHybridSort OK");
+    }
+
+    public static void testParallelMergeSort() {
+        int[] sizes = {0, 1, 2, 1000, 100000, 300001};
+        for (int n : sizes) {
+            // few distinct keys, so the stability of the parallel merge is exercised
+            Pair[] a = randomPairs(n, 50, n);
+            Pair[] b = randomPairs(n, 50, n);
+            MySortingAlgs.parallelMergeSort(a);
+            MySortingAlgs.mergeSortBuffered(b);
+            if (!sortedAndStable(a)) {
+                System.out.println("testParallelMergeSort ERROR");
+                return;
+            }
+            for (int i = 0; i < n; i++)
+                if (a[i].index != b[i].index) {
+                    System.out.println("testParallelMergeSort ERROR");
+                    return;
+                }
+        }
+        System.out.println("testParallelMergeSort OK");
+    }
+
+    public static void testMergeSortBottomUp() {
+        int[] sizes = {0, 1, 2, 3, 7, 64, 1000, 4097};
+        for (int n : sizes) {
+            Pair[] a = randomPairs(n, 10, n);
+            MySortingAlgs.mergeSortBottomUp(a);
+            if (!sortedAndStable(a)) {
+                System.out.println("testMergeSortBottomUp ERROR");
+                return;
+            }
+        }
+        // a subarray that does not start at 0 is sorted in place, stably, and nothing around it moves
+        Pair[] pairs = randomPairs(1000, 10, 7);
+        Pair[] original = pairs.clone();
+        MySortingAlgs.mergeSortBottomUp(pairs, 37, 900);
+        if (!sortedAndStable(Arrays.copyOfRange(pairs, 37, 901))) {
+            System.out.println("testMergeSortBottomUp ERROR");
+            return;
+        }
+        for (int i = 0; i < pairs.length; i++) {
+            if ((i < 37 || i > 900) && pairs[i] != original[i]) {
+                System.out.println("testMergeSortBottomUp ERROR");
+                return;
+            }
+        }
+
+        // sorting a subarray leaves the rest untouched
+        Integer[] arr = {9, 8, 7, 6, 5, 4, 3, 2, 1, 0};
+        MySortingAlgs.mergeSortBottomUp(arr, 2, 6);
+        Integer[] expected = {9, 8, 3, 4, 5, 6, 7, 2, 1, 0};
+        for (int i = 0; i < arr.length; i++)
+            if (!arr[i].equals(expected[i])) {
+                System.out.println("testMergeSortBottomUp ERROR");
+                return;
+            }
+        System.out.println("testMergeSortBottomUp OK");
+    }
+
+    public static void testPrimitiveSorts() {
+        int[] sizes = {0, 1, 2, 31, 33, 129, 1000, 100000};
+        double[] special = {Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.MIN_VALUE, -Double.MAX_VALUE};
+        for (int n : sizes) {
+            Random rnd = new Random(n);
+            // a mix of full-range values, small values with many duplicates, and a sorted block
+            int[] ints = new int[n];
+            long[] longs = new long[n];
+            double[] doubles = new double[n];
+            for (int i = 0; i < n; i++) {
+                ints[i] = i % 3 == 0 ? rnd.nextInt() : i % 3 == 1 ? rnd.nextInt(20) - 10 : i;
+                longs[i] = i % 3 == 0 ? rnd.nextLong() : i % 3 == 1 ? rnd.nextInt(20) - 10 : -i;
+                doubles[i] = i % 3 == 0 ? rnd.nextGaussian() : i % 3 == 1 ? special[rnd.nextInt(special.length)] : i;
+            }
+            int[] expectedInts = ints.clone();
+            long[] expectedLongs = longs.clone();
+            double[] expectedDoubles = doubles.clone();
+            Arrays.sort(expectedInts);
+            Arrays.sort(expectedLongs);
+            Arrays.sort(expectedDoubles);
+
+            int[] a = ints.clone();
+            MySortingAlgs.mergeSort(a);
+            int[] b = ints.clone();
+            MySortingAlgs.quickSort(b);
+            int[] c = ints.clone();
+            MySortingAlgs.radixSort(c);
+            long[] d = longs.clone();
+            MySortingAlgs.mergeSort(d);
+            long[] e = longs.clone();
+            MySortingAlgs.quickSort(e);
+            long[] f = longs.clone();
+            MySortingAlgs.radixSort(f);
+            double[] g = doubles.clone();
+            MySortingAlgs.mergeSort(g);
+            double[] h = doubles.clone();
+            MySortingAlgs.quickSort(h);
+            if (!Arrays.equals(a, expectedInts) || !Arrays.equals(b, expectedInts) || !Arrays.equals(c, expectedInts)
+                    || !Arrays.equals(d, expectedLongs) || !Arrays.equals(e, expectedLongs) || !Arrays.equals(f, expectedLongs)
+                    || !Arrays.equals(g, expectedDoubles) || !Arrays.equals(h, expectedDoubles)) {
+                System.out.println("testPrimitiveSorts ERROR");
+                return;
+            }
+        }
+        // all equal elements, and already sorted input
+        int[] same = new int[10000];
+        MySortingAlgs.quickSort(same);
+        int[] sorted = new int[10000];
+        for (int i = 0; i < sorted.length; i++)
+            sorted[i] = i - 5000;
+        int[] copy = sorted.clone();
+        MySortingAlgs.quickSort(copy);
+        if (!Arrays.equals(copy, sorted))
+            System.out.println("testPrimitiveSorts ERROR");
+        else
+            System.out.println("testPrimitiveSorts OK");
+    }
+
     public static void main(String[] args) {
         testSortStrings1();
         testSortStrings2();
 
         testMerge1();
         testMerge2();
+
+        testMergeSortBuffered();
+        testHybridSort();
+        testParallelMergeSort();
+        testMergeSortBottomUp();
+        testPrimitiveSorts();
     }
 
 }
@@ -0,0 +1,102 @@
+package binarytree;
+
+/**
+ * A BTNode that stores the size and height of its subtree,
+ * so size() and height() run in O(1) time.
+ * The stored values are updated up the parent chain whenever a child is set,
+ * which costs O(depth) per change and stops early once a value is unchanged.
+ * All nodes of the tree should be AugmentedBTNodes; a plain BTNode child is
+ * measured by walking it, and changes made under it are not seen by its ancestors.
+ * Only the child links define the structure, so setParent does not change any stored values.
+ */
+public class AugmentedBTNode<T> extends BTNode<T> {
+    private int size;
+    private int height;
+    private boolean allAugmented = true; // every node of the subtree is an AugmentedBTNode
+
+    public AugmentedBTNode(T data) {
+        super(data);
+        size = 1;
+        height = 0;
+    }
+
+    public AugmentedBTNode(T data, BTNode<T> left, BTNode<T> right, BTNode<T> parent) {
+        super(data, left, right, parent);
+        recompute(); // the super constructor ran before the fields were ready
+    }
+
+    @Override
+    public void setLeftChild(BTNode<T> leftChild) {
+        super.setLeftChild(leftChild);
+        update();
+    }
+
+    @Override
+    public void setRightChild(BTNode<T> rightChild) {
+        super.setRightChild(rightChild);
+        update();
+    }
+
+    /**
+     * @return the size of the subtree under this in O(1)
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the height of the subtree under this in O(1)
+     */
+    @Override
+    public int height() {
+        return height;
+    }
+
+    /**
+     * recomputes this node and its ancestors until a node's values do not change
+     */
+    private void update() {
+        BTNode<T> cur = this;
+        while (cur instanceof AugmentedBTNode) {
+            if (!((AugmentedBTNode<T>) cur).recompute())
+                return;
+            cur = cur.getParent();
+        }
+    }
+
+    /**
+     * recomputes size, height and allAugmented from the children
+     * @return true if any of them changed
+     */
+    private boolean recompute() {
+        BTNode<T> left = getLeftChild();
+        BTNode<T> right = getRightChild();
+        int newSize = 1;
+        int newHeight = 0;
+        boolean newAllAugmented = true;
+        if (left != null) {
+            newSize += left.size();
+            newHeight = left.height() + 1;
+            newAllAugmented = isAllAugmented(left);
+        }
+        if (right != null) {
+            newSize += right.size();
+            newHeight = Math.max(newHeight, right.height() + 1);
+            newAllAugmented = newAllAugmented && isAllAugmented(right);
+        }
+        boolean changed = newSize != size || newHeight != height || newAllAugmented != allAugmented;
+        size = newSize;
+        height = newHeight;
+        allAugmented = newAllAugmented;
+        return changed;
+    }
+
+    /**
+     * @return true if every node of the subtree under node is an AugmentedBTNode,
+     * so the cached sizes of all of them are up to date
+     */
+    static boolean isAllAugmented(BTNode<?> node) {
+        return node instanceof AugmentedBTNode && ((AugmentedBTNode<?>) node).allAugmented;
+    }
+}
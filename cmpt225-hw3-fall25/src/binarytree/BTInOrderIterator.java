@@ -0,0 +1,37 @@
+package binarytree;
+
+import java.util.*;
+
+/**
+ * Lazy in-order iterator; keeps at most height+1 nodes on its stack
+ */
+public class BTInOrderIterator<T> implements Iterator<T> {
+
+    private NodeStack<T> stack;
+
+    public BTInOrderIterator(BTNode<T> root) {
+        stack = new NodeStack<>();
+        pushLeftPath(root);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !stack.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext())
+            throw new NoSuchElementException("There are no more elements in the Iterator");
+        BTNode<T> cur = stack.pop();
+        pushLeftPath(cur.getRightChild());
+        return cur.getData();
+    }
+
+    private void pushLeftPath(BTNode<T> node) {
+        while (node != null) {
+            stack.push(node);
+            node = node.getLeftChild();
+        }
+    }
+}
@@ -4,15 +4,37 @@ import java.util.*;
 
 public class BTIterator<T> implements Iterator<T>{
 
-    private Stack<BTNode<T>> stack;
+    private NodeStack<T> stack;
 
     public BTIterator(BTNode<T> root) {
-        stack = new Stack<>();
+        this(root, initialCapacity(root));
+    }
+
+    /**
+     * @param capacity the number of nodes the stack can hold before growing
+     */
+    public BTIterator(BTNode<T> root, int capacity) {
+        stack = new NodeStack<>(capacity);
         if (root != null)
             stack.push(root);
     }
 
+    /**
+     * restarts the iterator at root, reusing the stack
+     */
+    public void reset(BTNode<T> root) {
+        stack.clear();
+        if (root != null)
+            stack.push(root);
+    }
+
+    /**
+     * returns the element next() would return, without advancing;
+     * throws NoSuchElementException if there are no more elements
+     */
     public T getCur()  {
+        if (stack.isEmpty())
+            throw new NoSuchElementException("There are no more elements in the Iterator");
         return stack.peek().getData();
     }
 
@@ -32,4 +54,11 @@ public class BTIterator<T> implements Iterator<T>{
             stack.push(cur.getLeftChild());
         return cur.getData();
     }
+
+    // the stack never holds more than height+1 nodes; the height is only known for free on an AugmentedBTNode
+    private static <T> int initialCapacity(BTNode<T> root) {
+        if (root instanceof AugmentedBTNode)
+            return root.height() + 1;
+        return 16;
+    }
 }
@@ -0,0 +1,34 @@
+package binarytree;
+
+import java.util.*;
+
+/**
+ * Lazy breadth-first iterator; keeps at most about one level of the tree in its queue
+ */
+public class BTLevelOrderIterator<T> implements Iterator<T> {
+
+    private ArrayDeque<BTNode<T>> queue;
+
+    public BTLevelOrderIterator(BTNode<T> root) {
+        queue = new ArrayDeque<>();
+        if (root != null)
+            queue.add(root);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !queue.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext())
+            throw new NoSuchElementException("There are no more elements in the Iterator");
+        BTNode<T> cur = queue.poll();
+        if (cur.getLeftChild() != null)
+            queue.add(cur.getLeftChild());
+        if (cur.getRightChild() != null)
+            queue.add(cur.getRightChild());
+        return cur.getData();
+    }
+}
@@ -1,12 +1,19 @@
 package binarytree;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 public class BTNode<T> {
     private T data;
     private BTNode<T> leftChild;
     private BTNode<T> rightChild;
     private BTNode<T> parent;
+    // modCount is bumped whenever the subtree under this node is modified through a setter;
+    // dirty is set at the same time and cleared by a full walk of a tree, see modified()
+    private int modCount;
+    private boolean dirty;
 
     public BTNode(T data) {
         this.data = data;
@@ -41,24 +48,67 @@ public class BTNode<T> {
 
     public void setData(T data) {
         this.data = data;
+        modified();
     }
 
     public void setLeftChild(BTNode<T> leftChild) {
         this.leftChild = leftChild;
         if (leftChild != null)
             leftChild.setParent(this);
+        modified();
     }
 
     public void setRightChild(BTNode<T> rightChild) {
         this.rightChild = rightChild;
         if (rightChild != null)
             rightChild.setParent(this);
+        modified();
     }
 
+    /**
+     * the parent link does not change the subtree under this, so modCount() is not bumped
+     */
     public void setParent(BTNode<T> parent) {
         this.parent = parent;
     }
 
+    /**
+     * @return a number that changes whenever the data or a child link of a node
+     * in the subtree under this is modified through a setter
+     */
+    int modCount() {
+        return modCount;
+    }
+
+    /**
+     * bumps the modCount of this node and of its ancestors, stopping at the first dirty one:
+     * a node is only dirty if it was modified below since the last walk that cleaned it,
+     * and that modification already bumped its ancestors. Building a tree therefore costs
+     * O(1) per setter, and only the first change after a walk goes all the way up
+     */
+    private void modified() {
+        for (BTNode<T> cur = this; cur != null && !cur.dirty; cur = cur.parent) {
+            cur.dirty = true;
+            cur.modCount++;
+        }
+    }
+
+    /**
+     * called on every node of a subtree by a walk that records the modCount of its root,
+     * so that the next change below the root bumps it again
+     */
+    void clean() {
+        dirty = false;
+    }
+
+    /**
+     * sets only the right child pointer, without touching parents or subclass state;
+     * used by the Morris traversals in BinaryTree to thread the tree temporarily
+     */
+    void setRightLink(BTNode<T> rightChild) {
+        this.rightChild = rightChild;
+    }
+
     public boolean isLeaf() {
         return (leftChild == null && rightChild == null);
     }
@@ -69,28 +119,43 @@ public class BTNode<T> {
 
     /**
      * @return the size of the subtree under this
+     * iterative, so it works on trees of any depth
      */
     public int size() {
-        int ret = 1; // one for the this
-        if (leftChild != null)
-            ret += leftChild.size(); // recursive call
-        if (rightChild != null)
-            ret += rightChild.size(); // recursive call
+        int ret = 0;
+        NodeStack<T> stack = NodeStack.acquire();
+        stack.push(this);
+        while (!stack.isEmpty()) {
+            BTNode<T> cur = stack.pop();
+            ret++;
+            if (cur.rightChild != null)
+                stack.push(cur.rightChild);
+            if (cur.leftChild != null)
+                stack.push(cur.leftChild);
+        }
+        stack.release();
         return ret;
     }
 
     /**
      * @return the height of the subtree under this
+     * iterative, so it works on trees of any depth
      */
     public int height() {
-        int leftHeight = -1, rightHeight = -1;
-
-        if (leftChild != null)
-            leftHeight = leftChild.height(); // recursive call
-        if (rightChild != null)
-            rightHeight = rightChild.height(); // recursive call
-
-        return Math.max(leftHeight, rightHeight) + 1;
+        int ret = 0;
+        NodeStack<T> stack = NodeStack.acquire();
+        stack.push(this, 0);
+        while (!stack.isEmpty()) {
+            int depth = stack.peekTag();
+            BTNode<T> cur = stack.pop();
+            ret = Math.max(ret, depth);
+            if (cur.rightChild != null)
+                stack.push(cur.rightChild, depth + 1);
+            if (cur.leftChild != null)
+                stack.push(cur.leftChild, depth + 1);
+        }
+        stack.release();
+        return ret;
     }
 
     public void printPreOrder() {
@@ -102,32 +167,120 @@ public class BTNode<T> {
     }
 
     public void printInOrder() {
-        if (leftChild != null)
-            leftChild.printPreOrder();
-        System.out.println(this.data);
-        if (rightChild != null)
-            rightChild.printPreOrder();
+        visitInOrder(node -> System.out.println(node.data));
     }
 
     public void printPostOrder() {
-        if (leftChild != null)
-            leftChild.printPreOrder();
-        if (rightChild != null)
-            rightChild.printPreOrder();
-        System.out.println(this.data);
+        visitPostOrder(node -> System.out.println(node.data));
     }
 
 
     public ArrayList<BTNode<T>> preOrder() {
         ArrayList<BTNode<T>> ret = new ArrayList<BTNode<T>>();
-        ret.add(this); // adds to the end of the list
-        if (leftChild != null)
-            ret.addAll(leftChild.preOrder());
-        if (rightChild != null)
-            ret.addAll(rightChild.preOrder());
-
+        preOrder(ret);
         return ret;
     }
 
+    /**
+     * adds the nodes of the subtree under this to out in pre-order
+     */
+    public void preOrder(List<? super BTNode<T>> out) {
+        visitPreOrder(out::add);
+    }
+
+    /**
+     * adds the nodes of the subtree under this to out in in-order
+     */
+    public void inOrder(List<? super BTNode<T>> out) {
+        visitInOrder(out::add);
+    }
+
+    /**
+     * adds the nodes of the subtree under this to out in post-order
+     */
+    public void postOrder(List<? super BTNode<T>> out) {
+        visitPostOrder(out::add);
+    }
+
+    /**
+     * adds the nodes of the subtree under this to out level by level, left to right
+     */
+    public void levelOrder(List<? super BTNode<T>> out) {
+        visitLevelOrder(out::add);
+    }
+
+    /**
+     * calls visitor on every node of the subtree under this in pre-order
+     */
+    public void visitPreOrder(Consumer<? super BTNode<T>> visitor) {
+        NodeStack<T> stack = new NodeStack<>();
+        stack.push(this);
+        while (!stack.isEmpty()) {
+            BTNode<T> cur = stack.pop();
+            visitor.accept(cur);
+            if (cur.rightChild != null)
+                stack.push(cur.rightChild);
+            if (cur.leftChild != null)
+                stack.push(cur.leftChild);
+        }
+    }
+
+    /**
+     * calls visitor on every node of the subtree under this in in-order
+     */
+    public void visitInOrder(Consumer<? super BTNode<T>> visitor) {
+        NodeStack<T> stack = new NodeStack<>();
+        BTNode<T> cur = this;
+        while (cur != null || !stack.isEmpty()) {
+            // go as far left as possible
+            while (cur != null) {
+                stack.push(cur);
+                cur = cur.leftChild;
+            }
+            cur = stack.pop();
+            visitor.accept(cur);
+            cur = cur.rightChild;
+        }
+    }
+
+    /**
+     * calls visitor on every node of the subtree under this in post-order
+     */
+    public void visitPostOrder(Consumer<? super BTNode<T>> visitor) {
+        // the tag is 1 once the node's children have been pushed
+        NodeStack<T> stack = new NodeStack<>();
+        stack.push(this, 0);
+        while (!stack.isEmpty()) {
+            BTNode<T> cur = stack.peek();
+            if (stack.peekTag() == 1) {
+                stack.pop();
+                visitor.accept(cur);
+                continue;
+            }
+            stack.pop();
+            stack.push(cur, 1);
+            if (cur.rightChild != null)
+                stack.push(cur.rightChild, 0);
+            if (cur.leftChild != null)
+                stack.push(cur.leftChild, 0);
+        }
+    }
+
+    /**
+     * calls visitor on every node of the subtree under this level by level, left to right
+     */
+    public void visitLevelOrder(Consumer<? super BTNode<T>> visitor) {
+        ArrayDeque<BTNode<T>> queue = new ArrayDeque<>();
+        queue.add(this);
+        while (!queue.isEmpty()) {
+            BTNode<T> cur = queue.poll();
+            visitor.accept(cur);
+            if (cur.leftChild != null)
+                queue.add(cur.leftChild);
+            if (cur.rightChild != null)
+                queue.add(cur.rightChild);
+        }
+    }
+
 
 }
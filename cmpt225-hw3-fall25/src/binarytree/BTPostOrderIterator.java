@@ -0,0 +1,38 @@
+package binarytree;
+
+import java.util.*;
+
+/**
+ * Lazy post-order iterator; keeps O(height) nodes on its stack
+ */
+public class BTPostOrderIterator<T> implements Iterator<T> {
+
+    // the tag is 1 once the node's children have been pushed
+    private NodeStack<T> stack;
+
+    public BTPostOrderIterator(BTNode<T> root) {
+        stack = new NodeStack<>();
+        if (root != null)
+            stack.push(root, 0);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !stack.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext())
+            throw new NoSuchElementException("There are no more elements in the Iterator");
+        while (stack.peekTag() == 0) {
+            BTNode<T> cur = stack.pop();
+            stack.push(cur, 1);
+            if (cur.getRightChild() != null)
+                stack.push(cur.getRightChild(), 0);
+            if (cur.getLeftChild() != null)
+                stack.push(cur.getLeftChild(), 0);
+        }
+        return stack.pop().getData();
+    }
+}
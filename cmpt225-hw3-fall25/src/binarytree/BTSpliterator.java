@@ -0,0 +1,112 @@
+package binarytree;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Pre-order spliterator that splits by handing whole subtrees to the new spliterator.
+ * The pending work is a stack of nodes, each tagged with whether its
+ * subtree still has to be expanded (0) or only the node itself is left (1).
+ * It is SIZED when every node of the tree is an AugmentedBTNode, so the cached sizes
+ * are exact and cheap; a tree with any plain BTNode in it is not SIZED.
+ */
+public class BTSpliterator<T> implements Spliterator<T> {
+
+    private static final int SUBTREE = 0;
+    private static final int NODE_ONLY = 1;
+
+    private NodeStack<T> stack;
+    private final boolean sized;
+    private long estimate; // exact when sized
+
+    public BTSpliterator(BTNode<T> root) {
+        stack = new NodeStack<>();
+        sized = root == null || AugmentedBTNode.isAllAugmented(root);
+        if (root == null) {
+            estimate = 0;
+        } else {
+            stack.push(root, SUBTREE);
+            estimate = sized ? root.size() : Long.MAX_VALUE;
+        }
+    }
+
+    private BTSpliterator(NodeStack<T> stack, boolean sized, long estimate) {
+        this.stack = stack;
+        this.sized = sized;
+        this.estimate = estimate;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (stack.isEmpty())
+            return false;
+        int tag = stack.peekTag();
+        BTNode<T> cur = stack.pop();
+        if (tag == SUBTREE) {
+            if (cur.getRightChild() != null)
+                stack.push(cur.getRightChild(), SUBTREE);
+            if (cur.getLeftChild() != null)
+                stack.push(cur.getLeftChild(), SUBTREE);
+        }
+        if (sized)
+            estimate--;
+        action.accept(cur.getData());
+        return true;
+    }
+
+    /**
+     * With several pending entries, the new spliterator takes all but the bottom one,
+     * which comes last in pre-order and is usually the largest subtree.
+     * With a single pending subtree, the new spliterator takes the node and its
+     * left subtree, and this one keeps the right subtree.
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        NodeStack<T> prefix = new NodeStack<>();
+        if (stack.size() >= 2) {
+            for (int i = 1; i < stack.size(); i++)
+                prefix.push(stack.get(i), stack.tagAt(i));
+            stack.truncate(1);
+        } else if (stack.size() == 1 && stack.peekTag() == SUBTREE && !stack.peek().isLeaf()) {
+            BTNode<T> cur = stack.pop();
+            BTNode<T> left = cur.getLeftChild();
+            BTNode<T> right = cur.getRightChild();
+            if (left != null && right != null) {
+                prefix.push(left, SUBTREE);
+                stack.push(right, SUBTREE);
+            } else {
+                stack.push(left != null ? left : right, SUBTREE);
+            }
+            prefix.push(cur, NODE_ONLY);
+        } else {
+            return null;
+        }
+        long prefixEstimate;
+        if (sized) {
+            prefixEstimate = count(prefix);
+            estimate -= prefixEstimate;
+        } else {
+            estimate >>>= 1;
+            prefixEstimate = estimate;
+        }
+        return new BTSpliterator<>(prefix, sized, prefixEstimate);
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return sized ? ORDERED | SIZED | SUBSIZED : ORDERED;
+    }
+
+    // the number of elements covered by a stack of entries, using the cached sizes
+    private static <T> long count(NodeStack<T> entries) {
+        long ret = 0;
+        for (int i = 0; i < entries.size(); i++)
+            ret += entries.tagAt(i) == SUBTREE ? entries.get(i).size() : 1;
+        return ret;
+    }
+}
@@ -1,10 +1,45 @@
 package binarytree;
 
+import java.lang.reflect.UndeclaredThrowableException;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class BinaryTree<T> {
 
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 10000;
+
     private BTNode<T> root;
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    // the number of methods walking the tree right now, or THREADED while a Morris traversal runs
+    private final AtomicInteger walkers = new AtomicInteger();
+    private static final int THREADED = -1;
+
+    // the last full walk of the tree, valid while the root's modCount is unchanged; replaced as a whole,
+    // so a thread that reads this field sees a consistent snapshot
+    private Summary summary;
+
+    /**
+     * structural hash, size and height of the tree, and the root's modCount when they were computed
+     */
+    private static final class Summary {
+        final int modCount;
+        final int hash;
+        final int size;
+        final int height;
+
+        Summary(int modCount, int hash, int size, int height) {
+            this.modCount = modCount;
+            this.hash = hash;
+            this.size = size;
+            this.height = height;
+        }
+    }
 
     public BinaryTree(BTNode<T> root) {
         this.root = root;
@@ -15,23 +50,221 @@ public class BinaryTree<T> {
     }
 
     public int size() {
-        return root.size();
+        startReading();
+        try {
+            return root.size();
+        } finally {
+            doneReading();
+        }
     }
 
     public int height() {
-        return root.height();
+        startReading();
+        try {
+            return root.height();
+        } finally {
+            doneReading();
+        }
     }
 
     public void printInOrder() {
-        root.printInOrder();
+        startReading();
+        try {
+            root.printInOrder();
+        } finally {
+            doneReading();
+        }
     }
 
     public void printPreOrder() {
-        root.printPreOrder();
+        startReading();
+        try {
+            root.printPreOrder();
+        } finally {
+            doneReading();
+        }
     }
 
     public void printPostOrder() {
-        root.printPostOrder();
+        startReading();
+        try {
+            root.printPostOrder();
+        } finally {
+            doneReading();
+        }
+    }
+
+    /**
+     * sets the smallest cached subtree size that the parallel methods hand to a separate task;
+     * only used for AugmentedBTNodes, since other nodes do not know their size
+     */
+    public void setParallelThreshold(int threshold) {
+        if (threshold < 1)
+            throw new IllegalArgumentException("Threshold must be positive");
+        this.parallelThreshold = threshold;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * size() computed on the common ForkJoinPool.
+     * A subtree is handed to a separate task only at a node with two children. For an
+     * AugmentedBTNode that happens when its cached size is at least getParallelThreshold();
+     * a plain BTNode does not know its size, so there the threshold has no effect and a
+     * subtree is forked whenever the pool is running out of queued tasks for idle threads
+     */
+    public int parallelSize() {
+        return (int) parallelLong((node, depth) -> 1, Integer.MAX_VALUE, false, 0);
+    }
+
+    /**
+     * height() computed on the common ForkJoinPool, split into tasks as in parallelSize()
+     */
+    public int parallelHeight() {
+        return (int) parallelLong((node, depth) -> depth, Integer.MAX_VALUE, true, -1);
+    }
+
+    /**
+     * numberOfLeaves() computed on the common ForkJoinPool, split into tasks as in parallelSize()
+     */
+    public int parallelNumberOfLeaves() {
+        return (int) parallelLong((node, depth) -> node.isLeaf() ? 1 : 0, Integer.MAX_VALUE, false, 0);
+    }
+
+    /**
+     * countDepthK(k) computed on the common ForkJoinPool, without descending below depth k;
+     * split into tasks as in parallelSize()
+     */
+    public int parallelCountDepthK(int k) {
+        if (k < 0)
+            throw new IllegalArgumentException("Input must be a positive number");
+        return (int) parallelLong((node, depth) -> depth == k ? 1 : 0, k, false, 0);
+    }
+
+    /**
+     * applies mapper to the data of every node and combines the results on the common ForkJoinPool.
+     * combiner must be associative and commutative, since the nodes are combined in no particular order.
+     * split into tasks as in parallelSize(). returns null if the tree is empty
+     */
+    public <R> R parallelReduce(Function<? super T, ? extends R> mapper, BinaryOperator<R> combiner) {
+        startReading();
+        try {
+            if (root == null)
+                return null;
+            return ForkJoinPool.commonPool().invoke(
+                    new ParallelTreeTasks.ReduceTask<>(root, mapper, combiner, parallelThreshold));
+        } finally {
+            doneReading();
+        }
+    }
+
+    private long parallelLong(ParallelTreeTasks.Measure<T> measure, int maxDepth, boolean max, long empty) {
+        startReading();
+        try {
+            if (root == null)
+                return empty;
+            return ForkJoinPool.commonPool().invoke(
+                    new ParallelTreeTasks.LongTask<>(root, 0, maxDepth, measure, max, parallelThreshold));
+        } finally {
+            doneReading();
+        }
+    }
+
+    /**
+     * Morris in-order traversal: calls visitor on the data of every node using O(1) extra space.
+     * The tree is temporarily threaded through right-child pointers and fully restored
+     * before returning, even if visitor throws. Nothing else may read or modify the tree
+     * while it runs, so it throws ConcurrentModificationException if another method of this
+     * BinaryTree is walking the tree, and those methods throw it until it is done.
+     * Lazily consumed iterators and streams are only checked when they are created, and
+     * BTNode methods not at all; used during the traversal they follow the threads in a cycle.
+     */
+    public void morrisInOrder(Consumer<? super T> visitor) {
+        morris(visitor, false);
+    }
+
+    /**
+     * Morris pre-order traversal: calls visitor on the data of every node using O(1) extra space.
+     * Same restrictions as morrisInOrder.
+     */
+    public void morrisPreOrder(Consumer<? super T> visitor) {
+        morris(visitor, true);
+    }
+
+    private void morris(Consumer<? super T> visitor, boolean preOrder) {
+        if (!walkers.compareAndSet(0, THREADED))
+            throw new ConcurrentModificationException(walkers.get() == THREADED
+                    ? "A Morris traversal of this tree is already running"
+                    : "The tree is being walked by another method");
+        Throwable failure = null; // once set, the walk continues only to remove the threads
+        try {
+            BTNode<T> cur = root;
+            while (cur != null) {
+                if (cur.getLeftChild() == null) {
+                    failure = visit(visitor, cur, failure);
+                    cur = cur.getRightChild();
+                    continue;
+                }
+                // the rightmost node of the left subtree, which either is unthreaded or points back to cur
+                BTNode<T> pred = cur.getLeftChild();
+                while (pred.getRightChild() != null && pred.getRightChild() != cur)
+                    pred = pred.getRightChild();
+                if (pred.getRightChild() == null) {
+                    if (preOrder)
+                        failure = visit(visitor, cur, failure);
+                    pred.setRightLink(cur);
+                    cur = cur.getLeftChild();
+                } else {
+                    pred.setRightLink(null);
+                    if (!preOrder)
+                        failure = visit(visitor, cur, failure);
+                    cur = cur.getRightChild();
+                }
+            }
+        } finally {
+            walkers.set(0);
+        }
+        if (failure instanceof RuntimeException)
+            throw (RuntimeException) failure;
+        if (failure instanceof Error)
+            throw (Error) failure;
+        if (failure != null)
+            throw new UndeclaredThrowableException(failure); // a checked exception thrown sneakily
+    }
+
+    private Throwable visit(Consumer<? super T> visitor, BTNode<T> node, Throwable failure) {
+        if (failure != null)
+            return failure;
+        try {
+            visitor.accept(node.getData());
+            return null;
+        } catch (Throwable e) {
+            return e;
+        }
+    }
+
+    // while a Morris traversal runs the tree has cycles, so nothing may walk it;
+    // used by the methods that only create an iterator and return
+    private void checkNotThreaded() {
+        if (walkers.get() == THREADED)
+            throw new ConcurrentModificationException("A Morris traversal of this tree is running");
+    }
+
+    // registers a method that walks the tree before it returns, so a Morris traversal cannot start meanwhile;
+    // must be paired with doneReading() in a finally block
+    private void startReading() {
+        int n;
+        do {
+            n = walkers.get();
+            if (n == THREADED)
+                throw new ConcurrentModificationException("A Morris traversal of this tree is running");
+        } while (!walkers.compareAndSet(n, n + 1));
+    }
+
+    private void doneReading() {
+        walkers.decrementAndGet();
     }
 
     /**************** Assignment 3 *************************/
@@ -41,15 +274,40 @@ public class BinaryTree<T> {
      * returns the number of leaves in the tree
      */
     public int numberOfLeaves() {
-        return countLeaves(root);
+        startReading();
+        try {
+            return countLeaves(root);
+        } finally {
+            doneReading();
+        }
     }
 
+    /**
+     * returns the number of leaves in the subtree under root
+     * iterative, so it works on trees of any depth
+     */
     public int countLeaves(BTNode<T> root) {
-        if (root == null)
-            return 0;
-        if (root.isLeaf())
-            return 1;
-        return countLeaves(root.getLeftChild()) + countLeaves(root.getRightChild());
+        startReading();
+        try {
+            if (root == null)
+                return 0;
+            int ret = 0;
+            NodeStack<T> stack = NodeStack.acquire();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                BTNode<T> cur = stack.pop();
+                if (cur.isLeaf())
+                    ret++;
+                if (cur.getRightChild() != null)
+                    stack.push(cur.getRightChild());
+                if (cur.getLeftChild() != null)
+                    stack.push(cur.getLeftChild());
+            }
+            stack.release();
+            return ret;
+        } finally {
+            doneReading();
+        }
     }
 
 
@@ -61,21 +319,132 @@ public class BinaryTree<T> {
         if (other == null || getClass() != other.getClass())
             return false;
         BinaryTree<?> n = (BinaryTree<?>) other;
-        return same(root, n.getRoot());
+        startReading();
+        try {
+            n.startReading();
+            try {
+                if (differsCheaply(n))
+                    return false;
+                return same(root, n.getRoot());
+            } finally {
+                n.doneReading();
+            }
+        } finally {
+            doneReading();
+        }
     }
 
+    /**
+     * a hash of the shape of the tree and the data in it, consistent with equals.
+     * it is cached, and recomputed only after a node of this tree was modified through a setter;
+     * changes inside the data objects themselves are not noticed.
+     */
+    @Override
+    public int hashCode() {
+        startReading();
+        try {
+            Summary s = validSummary();
+            if (s == null) {
+                s = summarize();
+                summary = s;
+            }
+            return s.hash;
+        } finally {
+            doneReading();
+        }
+    }
+
+    /**
+     * compares the trees pair of nodes by pair of nodes, in preOrder,
+     * and returns false at the first difference
+     */
     public boolean same(BTNode<T> b1, BTNode<?> b2) {
-        if ( b1 == null && b2 == null)
+        startReading();
+        try {
+            if (b1 == null || b2 == null)
+                return b1 == b2;
+            NodeStack<T> stack1 = new NodeStack<>();
+            NodeStack<Object> stack2 = new NodeStack<>();
+            stack1.push(b1);
+            stack2.push(asObjectNode(b2));
+            while (!stack1.isEmpty()) {
+                BTNode<T> n1 = stack1.pop();
+                BTNode<Object> n2 = stack2.pop();
+                if (!Objects.equals(n1.getData(), n2.getData()))
+                    return false;
+                if ((n1.getRightChild() == null) != (n2.getRightChild() == null)
+                        || (n1.getLeftChild() == null) != (n2.getLeftChild() == null))
+                    return false;
+                if (n1.getRightChild() != null) {
+                    stack1.push(n1.getRightChild());
+                    stack2.push(n2.getRightChild());
+                }
+                if (n1.getLeftChild() != null) {
+                    stack1.push(n1.getLeftChild());
+                    stack2.push(n2.getLeftChild());
+                }
+            }
             return true;
-        if (b1 == null || b2 == null)
-            return false;
-        if (!b1.getData().equals(b2.getData()))
-            return false;
+        } finally {
+            doneReading();
+        }
+    }
 
-        boolean l = same(b1.getLeftChild(), b2.getLeftChild());
-        boolean r = same(b1.getRightChild(), b2.getRightChild());
+    @SuppressWarnings("unchecked")
+    private static BTNode<Object> asObjectNode(BTNode<?> node) {
+        return (BTNode<Object>) node; // only read from, so this is safe
+    }
 
-        return l && r;
+    /**
+     * true if the trees are known to differ without walking them:
+     * the stored sizes of roots whose trees are made only of AugmentedBTNodes,
+     * or the size, height and hash of both trees when both have valid caches
+     */
+    private boolean differsCheaply(BinaryTree<?> other) {
+        BTNode<?> otherRoot = other.getRoot();
+        if (root == null || otherRoot == null)
+            return root != otherRoot;
+        if (AugmentedBTNode.isAllAugmented(root) && AugmentedBTNode.isAllAugmented(otherRoot)
+                && (root.size() != otherRoot.size() || root.height() != otherRoot.height()))
+            return true;
+        Summary mine = validSummary();
+        Summary theirs = other.validSummary();
+        if (mine != null && theirs != null)
+            return mine.size != theirs.size || mine.height != theirs.height || mine.hash != theirs.hash;
+        return false;
+    }
+
+    // the cached summary, or null if there is none or the tree was modified since
+    private Summary validSummary() {
+        Summary s = summary;
+        if (s == null || s.modCount != (root == null ? 0 : root.modCount()))
+            return null;
+        return s;
+    }
+
+    // one preOrder walk that computes the hash, size and height; null children are hashed too, so the shape counts
+    private Summary summarize() {
+        int modCount = root == null ? 0 : root.modCount();
+        int hash = 1;
+        int size = 0;
+        int height = -1;
+        NodeStack<T> stack = new NodeStack<>();
+        stack.push(root, 0);
+        while (!stack.isEmpty()) {
+            int depth = stack.peekTag();
+            BTNode<T> cur = stack.pop();
+            if (cur == null) {
+                hash = 31 * hash + 0x9e3779b9;
+                continue;
+            }
+            cur.clean();
+            hash = 31 * hash + Objects.hashCode(cur.getData());
+            size++;
+            height = Math.max(height, depth);
+            stack.push(cur.getRightChild(), depth + 1);
+            stack.push(cur.getLeftChild(), depth + 1);
+        }
+        return new Summary(modCount, hash, size, height);
     }
 
     /**
@@ -87,30 +456,59 @@ public class BinaryTree<T> {
         // Need to use BFS to go to level and count nodes in that level
         if (k < 0)
             throw new IllegalArgumentException("Input must be a positive number");
-        if (root == null || k > height())
-            return 0;
-        if (k == 0)
-            return 1;
-        LinkedList<BTNode<T>> queue = new LinkedList<>();
-        int level = 0;
-        queue.add(root);
-
-        while (!queue.isEmpty()) {
-            int size = queue.size();
-            // If we have reached level then return the size of queue
-            if (level == k)
-                return size;
-            for (int i = 0; i < size; i++) {
-                BTNode<T> cur = queue.poll();
-                
-                if (cur.getLeftChild() != null)
-                    queue.add(cur.getLeftChild());
-                if (cur.getRightChild() != null)
-                    queue.add(cur.getRightChild());
+        int[] widths = levelWidths(k);
+        // the BFS stops early if the tree is not that deep, no need to check height() first
+        return k < widths.length ? widths[k] : 0;
+    }
+
+    /**
+     * returns the number of vertices at every depth, computed in one BFS;
+     * the array has height()+1 entries, or none for an empty tree
+     */
+    public int[] levelWidths() {
+        return levelWidths(Integer.MAX_VALUE);
+    }
+
+    /**
+     * returns the number of vertices at depths 0...maxDepth, or up to the height if
+     * the tree is not that deep; the BFS never looks below depth maxDepth.
+     * if maxDepth<0 throws IllegalArgumentException
+     */
+    public int[] levelWidths(int maxDepth) {
+        if (maxDepth < 0)
+            throw new IllegalArgumentException("Input must be a positive number");
+        startReading();
+        try {
+            if (root == null)
+                return new int[0];
+            int[] widths = new int[16];
+            ArrayDeque<BTNode<T>> queue = new ArrayDeque<>();
+            int level = 0;
+            queue.add(root);
+
+            while (!queue.isEmpty()) {
+                int size = queue.size();
+                if (level == widths.length)
+                    widths = Arrays.copyOf(widths, level * 2);
+                widths[level] = size;
+                if (level == maxDepth) {
+                    level++;
+                    break;
+                }
+                for (int i = 0; i < size; i++) {
+                    BTNode<T> cur = queue.poll();
+
+                    if (cur.getLeftChild() != null)
+                        queue.add(cur.getLeftChild());
+                    if (cur.getRightChild() != null)
+                        queue.add(cur.getRightChild());
+                }
+                level++;
             }
-            level++;
+            return Arrays.copyOf(widths, level); // level is now the number of depths counted
+        } finally {
+            doneReading();
         }
-        return 0;
     }
 
 
@@ -119,7 +517,55 @@ public class BinaryTree<T> {
      */
     public Iterator<T> preOrderIterator() {
         // TODO implement me
+        checkNotThreaded();
         return new BTIterator<>(root);
     }
 
+    /**
+     * returns a preOrder spliterator that splits by subtrees;
+     * it is SIZED when every node is an AugmentedBTNode
+     */
+    public Spliterator<T> spliterator() {
+        checkNotThreaded();
+        return new BTSpliterator<>(root);
+    }
+
+    /**
+     * returns a sequential stream over the data of the tree in preOrder
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * returns a parallel stream over the data of the tree
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * returns a lazy inOrder iterator for the tree
+     */
+    public Iterator<T> inOrderIterator() {
+        checkNotThreaded();
+        return new BTInOrderIterator<>(root);
+    }
+
+    /**
+     * returns a lazy postOrder iterator for the tree
+     */
+    public Iterator<T> postOrderIterator() {
+        checkNotThreaded();
+        return new BTPostOrderIterator<>(root);
+    }
+
+    /**
+     * returns a lazy breadth-first iterator for the tree
+     */
+    public Iterator<T> levelOrderIterator() {
+        checkNotThreaded();
+        return new BTLevelOrderIterator<>(root);
+    }
+
 }
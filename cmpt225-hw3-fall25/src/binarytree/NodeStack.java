@@ -0,0 +1,124 @@
+package binarytree;
+
+import java.util.Arrays;
+
+/**
+ * An unsynchronized array-based stack of tree nodes used by the iterative
+ * traversals, so they do not depend on the thread's call stack.
+ * Each entry can carry an int (e.g. the depth of the node).
+ * Frequently called methods reuse one stack per thread through acquire() and release().
+ */
+class NodeStack<T> {
+    private static final int DEFAULT_CAPACITY = 16;
+    // a released stack larger than this is dropped instead of kept, so one deep tree does not pin a big array
+    private static final int MAX_SPARE_CAPACITY = 1 << 12;
+
+    private static final ThreadLocal<NodeStack<?>> spare = new ThreadLocal<>();
+
+    private BTNode<T>[] nodes;
+    private int[] tags;
+    private int size;
+
+    NodeStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    NodeStack(int capacity) {
+        capacity = Math.max(capacity, 1);
+        nodes = (BTNode<T>[]) new BTNode<?>[capacity];
+        tags = new int[capacity];
+        size = 0;
+    }
+
+    /**
+     * @return an empty stack, the calling thread's spare one if it has one;
+     * hand it back with release() when done. A nested acquire() gets a new stack
+     */
+    @SuppressWarnings("unchecked")
+    static <T> NodeStack<T> acquire() {
+        NodeStack<?> stack = spare.get();
+        if (stack == null)
+            return new NodeStack<>();
+        spare.set(null);
+        return (NodeStack<T>) stack; // it is empty, so any element type will do
+    }
+
+    /**
+     * clears the stack and keeps it as the calling thread's spare; it must not be used afterwards
+     */
+    void release() {
+        clear();
+        if (nodes.length <= MAX_SPARE_CAPACITY)
+            spare.set(this);
+    }
+
+    void push(BTNode<T> node) {
+        push(node, 0);
+    }
+
+    void push(BTNode<T> node, int tag) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            tags = Arrays.copyOf(tags, size * 2);
+        }
+        nodes[size] = node;
+        tags[size] = tag;
+        size++;
+    }
+
+    BTNode<T> pop() {
+        BTNode<T> ret = nodes[--size];
+        nodes[size] = null;
+        return ret;
+    }
+
+    BTNode<T> peek() {
+        return nodes[size - 1];
+    }
+
+    /**
+     * @return the int stored with the top node
+     */
+    int peekTag() {
+        return tags[size - 1];
+    }
+
+    /**
+     * @return the node at position i, counting from the bottom
+     */
+    BTNode<T> get(int i) {
+        return nodes[i];
+    }
+
+    /**
+     * @return the int stored with the node at position i, counting from the bottom
+     */
+    int tagAt(int i) {
+        return tags[i];
+    }
+
+    /**
+     * removes nodes from the top until size nodes are left
+     */
+    void truncate(int size) {
+        Arrays.fill(nodes, size, this.size, null);
+        this.size = size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * removes all nodes, keeping the arrays
+     */
+    void clear() {
+        Arrays.fill(nodes, 0, size, null);
+        size = 0;
+    }
+}
@@ -0,0 +1,142 @@
+package binarytree;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Fork/join tasks behind the parallel aggregates of BinaryTree.
+ * Each task walks its subtree with a NodeStack. At a node with two children
+ * the left subtree is always kept, so a task never forks away all of its work
+ * and a path-shaped tree is walked by a single task. The right subtree is
+ * forked as a new task when it is worth it:
+ * - for an AugmentedBTNode, when its cached size is at least the threshold.
+ * - for a plain BTNode, whose size is unknown, when it is not a leaf and
+ *   the pool is running short of queued tasks for idle workers to steal.
+ */
+class ParallelTreeTasks {
+
+    /**
+     * the value a node contributes to an aggregate, given its depth in the tree
+     */
+    interface Measure<T> {
+        long of(BTNode<T> node, int depth);
+    }
+
+    private static final int SURPLUS_LIMIT = 3;
+
+    static <T> boolean shouldFork(BTNode<T> node, int threshold) {
+        if (node.isLeaf())
+            return false;
+        if (node instanceof AugmentedBTNode)
+            return node.size() >= threshold;
+        return ForkJoinTask.getSurplusQueuedTaskCount() < SURPLUS_LIMIT;
+    }
+
+    /**
+     * sums, or takes the max of, measure over every node of depth at most maxDepth
+     */
+    static class LongTask<T> extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final BTNode<T> node;
+        private final int depth;
+        private final int maxDepth;
+        private final Measure<T> measure;
+        private final boolean max;
+        private final int threshold;
+
+        LongTask(BTNode<T> node, int depth, int maxDepth, Measure<T> measure, boolean max, int threshold) {
+            this.node = node;
+            this.depth = depth;
+            this.maxDepth = maxDepth;
+            this.measure = measure;
+            this.max = max;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Long compute() {
+            ArrayList<LongTask<T>> forked = new ArrayList<>();
+            NodeStack<T> stack = new NodeStack<>();
+            stack.push(node, depth);
+            long ret = max ? Long.MIN_VALUE : 0;
+            while (!stack.isEmpty()) {
+                int d = stack.peekTag();
+                BTNode<T> cur = stack.pop();
+                ret = combine(ret, measure.of(cur, d));
+                if (d == maxDepth)
+                    continue;
+                BTNode<T> left = cur.getLeftChild();
+                BTNode<T> right = cur.getRightChild();
+                if (left != null && right != null && shouldFork(right, threshold)) {
+                    LongTask<T> task = new LongTask<>(right, d + 1, maxDepth, measure, max, threshold);
+                    task.fork();
+                    forked.add(task);
+                } else if (right != null) {
+                    stack.push(right, d + 1);
+                }
+                if (left != null)
+                    stack.push(left, d + 1);
+            }
+            // join the most recently forked first, it is the most likely to still be in our own queue
+            for (int i = forked.size() - 1; i >= 0; i--)
+                ret = combine(ret, forked.get(i).join());
+            return ret;
+        }
+
+        private long combine(long a, long b) {
+            return max ? Math.max(a, b) : a + b;
+        }
+    }
+
+    /**
+     * combines mapper applied to the data of every node
+     */
+    static class ReduceTask<T, R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final BTNode<T> node;
+        private final Function<? super T, ? extends R> mapper;
+        private final BinaryOperator<R> combiner;
+        private final int threshold;
+
+        ReduceTask(BTNode<T> node, Function<? super T, ? extends R> mapper, BinaryOperator<R> combiner, int threshold) {
+            this.node = node;
+            this.mapper = mapper;
+            this.combiner = combiner;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected R compute() {
+            ArrayList<ReduceTask<T, R>> forked = new ArrayList<>();
+            NodeStack<T> stack = new NodeStack<>();
+            stack.push(node);
+            R ret = null;
+            boolean first = true;
+            while (!stack.isEmpty()) {
+                BTNode<T> cur = stack.pop();
+                R value = mapper.apply(cur.getData());
+                ret = first ? value : combiner.apply(ret, value);
+                first = false;
+                BTNode<T> left = cur.getLeftChild();
+                BTNode<T> right = cur.getRightChild();
+                if (left != null && right != null && shouldFork(right, threshold)) {
+                    ReduceTask<T, R> task = new ReduceTask<>(right, mapper, combiner, threshold);
+                    task.fork();
+                    forked.add(task);
+                } else if (right != null) {
+                    stack.push(right);
+                }
+                if (left != null)
+                    stack.push(left);
+            }
+            for (int i = forked.size() - 1; i >= 0; i--)
+                ret = combiner.apply(ret, forked.get(i).join());
+            return ret;
+        }
+    }
+}
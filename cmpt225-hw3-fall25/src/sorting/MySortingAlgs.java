@@ -1,8 +1,19 @@
 package sorting;
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class MySortingAlgs {
 
+    // ranges shorter than this are sorted with insertion sort
+    private static final int INSERTION_CUTOFF = 32;
+    // ranges shorter than this are sorted or merged sequentially by parallelMergeSort
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+    // quickSort picks the ninther instead of the median of three above this length
+    private static final int NINTHER_CUTOFF = 128;
+    // number of buckets in each radixSort pass, one per byte value
+    private static final int RADIX = 256;
+
     public static void sortStrings(String[] a) {
         // TODO implement me
         if (a.length == 0 || a.length == 1)
@@ -60,4 +71,693 @@ public class MySortingAlgs {
         mergeSort(arr,0,arr.length-1);
     }
 
+    /**
+     * Assumption src[start...mid-1] is sorted and src[mid...end] is sorted.
+     * Merges the two parts into dst[start...end] without allocating.
+     * Stable: on ties the element from the left part goes first.
+     */
+    public static <T extends Comparable<T>> void merge(T[] src, T[] dst, int start, int mid, int end) {
+        mergeRanges(src, start, mid, mid, end + 1, dst, start);
+    }
+
+    // merges src[leftStart...leftEnd-1] and src[rightStart...rightEnd-1] into dst starting at k; stable
+    private static <T extends Comparable<T>> void mergeRanges(T[] src, int leftStart, int leftEnd,
+            int rightStart, int rightEnd, T[] dst, int k) {
+        int i = leftStart;
+        int j = rightStart;
+        while (i < leftEnd && j < rightEnd) {
+            if (src[i].compareTo(src[j]) <= 0)
+                dst[k++] = src[i++];
+            else
+                dst[k++] = src[j++];
+        }
+        while (i < leftEnd)
+            dst[k++] = src[i++];
+        while (j < rightEnd)
+            dst[k++] = src[j++];
+    }
+
+    /**
+     * sorts arr using a stable Merge Sort that allocates a single auxiliary array
+     */
+    public static <T extends Comparable<T>> void mergeSortBuffered(T[] arr) {
+        if (arr.length < 2)
+            return;
+        sortInto(arr.clone(), arr, 0, arr.length - 1);
+    }
+
+    /**
+     * sorts arr using a stable Merge Sort that uses scratch as its auxiliary array,
+     * so a caller sorting many arrays can reuse one buffer and allocate nothing.
+     * scratch must be at least as long as arr; its contents are overwritten
+     */
+    public static <T extends Comparable<T>> void mergeSort(T[] arr, T[] scratch) {
+        if (scratch.length < arr.length)
+            throw new IllegalArgumentException("scratch is shorter than arr");
+        if (arr.length < 2)
+            return;
+        System.arraycopy(arr, 0, scratch, 0, arr.length);
+        sortInto(scratch, arr, 0, arr.length - 1);
+    }
+
+    /**
+     * sorts arr using a non-recursive, bottom-up Merge Sort; stable
+     */
+    public static <T extends Comparable<T>> void mergeSortBottomUp(T[] arr) {
+        mergeSortBottomUp(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * sorts the subarray arr[start...end] using a bottom-up Merge Sort.
+     * Each pass merges neighbouring runs of length width into runs of length 2*width,
+     * scanning the array left to right, and the passes alternate between arr and
+     * an auxiliary array as long as the subarray, so there is no recursion and no
+     * copying between passes
+     */
+    public static <T extends Comparable<T>> void mergeSortBottomUp(T[] arr, int start, int end) {
+        if (start >= end)
+            return;
+        int length = end - start + 1;
+        // positions are counted from start; the subarray begins at offset start in arr and at 0 in the buffer
+        T[] src = arr;
+        T[] dst = Arrays.copyOfRange(arr, start, end + 1);
+        int srcOffset = start;
+        int dstOffset = 0;
+        // long, so that doubling past 2^30 does not overflow
+        for (long width = 1; width < length; width *= 2) {
+            for (long lo = 0; lo < length; lo += 2 * width) {
+                // a trailing run without a right neighbour is copied as is
+                int mid = (int) Math.min(lo + width, length);
+                int hi = (int) Math.min(lo + 2 * width, length);
+                mergeRanges(src, srcOffset + (int) lo, srcOffset + mid, srcOffset + mid, srcOffset + hi,
+                        dst, dstOffset + (int) lo);
+            }
+            T[] tmp = src;
+            src = dst;
+            dst = tmp;
+            int tmpOffset = srcOffset;
+            srcOffset = dstOffset;
+            dstOffset = tmpOffset;
+        }
+        if (src != arr)
+            System.arraycopy(src, 0, arr, start, length);
+    }
+
+    /**
+     * sorts arr using Merge Sort on the common ForkJoinPool.
+     * Both the recursive sorts and the merges are split into tasks; a merge is split
+     * by taking the middle element of the longer part and binary searching its
+     * position in the other part. Stable, so the result is identical to mergeSortBuffered.
+     */
+    public static <T extends Comparable<T>> void parallelMergeSort(T[] arr) {
+        if (arr.length < 2)
+            return;
+        ForkJoinPool.commonPool().invoke(new SortTask<>(arr.clone(), arr, 0, arr.length - 1));
+    }
+
+    /**
+     * sorts src[start...end] into dst[start...end], like sortInto
+     */
+    private static class SortTask<T extends Comparable<T>> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] src, dst;
+        private final int start, end;
+
+        SortTask(T[] src, T[] dst, int start, int end) {
+            this.src = src;
+            this.dst = dst;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start < PARALLEL_THRESHOLD) {
+                sortInto(src, dst, start, end);
+                return;
+            }
+            int mid = (start + end + 1) >>> 1;
+            invokeAll(new SortTask<>(dst, src, start, mid - 1), new SortTask<>(dst, src, mid, end));
+            new MergeTask<>(src, dst, start, mid, mid, end + 1, start).compute();
+        }
+    }
+
+    /**
+     * merges the sorted ranges src[leftStart...leftEnd-1] and src[rightStart...rightEnd-1]
+     * into dst starting at dstStart; stable
+     */
+    private static class MergeTask<T extends Comparable<T>> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] src, dst;
+        private final int leftStart, leftEnd, rightStart, rightEnd, dstStart;
+
+        MergeTask(T[] src, T[] dst, int leftStart, int leftEnd, int rightStart, int rightEnd, int dstStart) {
+            this.src = src;
+            this.dst = dst;
+            this.leftStart = leftStart;
+            this.leftEnd = leftEnd;
+            this.rightStart = rightStart;
+            this.rightEnd = rightEnd;
+            this.dstStart = dstStart;
+        }
+
+        @Override
+        protected void compute() {
+            int leftLength = leftEnd - leftStart;
+            int rightLength = rightEnd - rightStart;
+            if (leftLength + rightLength < PARALLEL_THRESHOLD) {
+                mergeRanges(src, leftStart, leftEnd, rightStart, rightEnd, dst, dstStart);
+                return;
+            }
+            int leftSplit, rightSplit;
+            if (leftLength >= rightLength) {
+                // equal elements of the right part must end up after src[leftSplit]
+                leftSplit = (leftStart + leftEnd) / 2;
+                rightSplit = lowerBound(src, rightStart, rightEnd, src[leftSplit]);
+                dst[dstStart + (leftSplit - leftStart) + (rightSplit - rightStart)] = src[leftSplit];
+                invokeAll(new MergeTask<>(src, dst, leftStart, leftSplit, rightStart, rightSplit, dstStart),
+                        new MergeTask<>(src, dst, leftSplit + 1, leftEnd, rightSplit, rightEnd,
+                                dstStart + (leftSplit - leftStart) + (rightSplit - rightStart) + 1));
+            } else {
+                // equal elements of the left part must end up before src[rightSplit]
+                rightSplit = (rightStart + rightEnd) / 2;
+                leftSplit = upperBound(src, leftStart, leftEnd, src[rightSplit]);
+                dst[dstStart + (leftSplit - leftStart) + (rightSplit - rightStart)] = src[rightSplit];
+                invokeAll(new MergeTask<>(src, dst, leftStart, leftSplit, rightStart, rightSplit, dstStart),
+                        new MergeTask<>(src, dst, leftSplit, leftEnd, rightSplit + 1, rightEnd,
+                                dstStart + (leftSplit - leftStart) + (rightSplit - rightStart) + 1));
+            }
+        }
+    }
+
+    // the first index in arr[start...end-1] whose element is >= key, or end
+    private static <T extends Comparable<T>> int lowerBound(T[] arr, int start, int end, T key) {
+        while (start < end) {
+            int mid = (start + end) >>> 1;
+            if (arr[mid].compareTo(key) < 0)
+                start = mid + 1;
+            else
+                end = mid;
+        }
+        return start;
+    }
+
+    // the first index in arr[start...end-1] whose element is > key, or end
+    private static <T extends Comparable<T>> int upperBound(T[] arr, int start, int end, T key) {
+        while (start < end) {
+            int mid = (start + end) >>> 1;
+            if (arr[mid].compareTo(key) <= 0)
+                start = mid + 1;
+            else
+                end = mid;
+        }
+        return start;
+    }
+
+    /**
+     * sorts the subarray arr[start...end] using insertion sort; stable
+     */
+    public static <T extends Comparable<T>> void insertionSort(T[] arr, int start, int end) {
+        for (int i = start + 1; i <= end; i++) {
+            T cur = arr[i];
+            int j = i - 1;
+            while (j >= start && arr[j].compareTo(cur) > 0) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = cur;
+        }
+    }
+
+    /**
+     * sorts arr using a stable natural Merge Sort, in the spirit of TimSort:
+     * - the array is split into runs that are already ascending, or strictly descending (reversed in place).
+     * - runs shorter than INSERTION_CUTOFF are extended with insertion sort.
+     * - neighbouring runs are merged pairwise, skipping the merge when they are already in order.
+     * An already sorted array takes one pass, and nearly sorted data close to linear time.
+     */
+    public static <T extends Comparable<T>> void hybridSort(T[] arr) {
+        int n = arr.length;
+        if (n < 2)
+            return;
+        // every run but the last has at least INSERTION_CUTOFF elements
+        int[] runs = new int[n / INSERTION_CUTOFF + 2];
+        int count = 0;
+        int start = 0;
+        while (start < n) {
+            int end = start + 1; // one past the end of the run
+            if (end < n) {
+                if (arr[end].compareTo(arr[start]) < 0) {
+                    while (end < n && arr[end].compareTo(arr[end - 1]) < 0)
+                        end++;
+                    reverse(arr, start, end - 1);
+                } else {
+                    while (end < n && arr[end].compareTo(arr[end - 1]) >= 0)
+                        end++;
+                }
+            }
+            if (end - start < INSERTION_CUTOFF) {
+                end = Math.min(n, start + INSERTION_CUTOFF);
+                insertionSort(arr, start, end - 1);
+            }
+            runs[count++] = start;
+            start = end;
+        }
+        runs[count] = n;
+
+        T[] aux = null;
+        while (count > 1) {
+            if (aux == null)
+                aux = Arrays.copyOf(arr, n);
+            int newCount = 0;
+            for (int i = 0; i < count; i += 2) {
+                if (i + 1 < count)
+                    mergeRuns(arr, aux, runs[i], runs[i + 1], runs[i + 2] - 1);
+                runs[newCount++] = runs[i];
+            }
+            runs[newCount] = n;
+            count = newCount;
+        }
+    }
+
+    /**
+     * Assumption arr[start...mid-1] is sorted and arr[mid...end] is sorted.
+     * Merges them in place, copying only the left part into aux; does nothing if they are already in order
+     */
+    private static <T extends Comparable<T>> void mergeRuns(T[] arr, T[] aux, int start, int mid, int end) {
+        if (arr[mid - 1].compareTo(arr[mid]) <= 0)
+            return;
+        int leftLength = mid - start;
+        System.arraycopy(arr, start, aux, 0, leftLength);
+        int i = 0; // index for aux
+        int j = mid; // index for right part
+        int k = start; // index for arr
+        while (i < leftLength && j <= end) {
+            if (aux[i].compareTo(arr[j]) <= 0)
+                arr[k++] = aux[i++];
+            else
+                arr[k++] = arr[j++];
+        }
+        // the rest of the right part is already in place
+        while (i < leftLength)
+            arr[k++] = aux[i++];
+    }
+
+    private static <T> void reverse(T[] arr, int start, int end) {
+        while (start < end) {
+            T temp = arr[start];
+            arr[start++] = arr[end];
+            arr[end--] = temp;
+        }
+    }
+
+    /**
+     * sorts src[start...end] into dst[start...end].
+     * Assumption src and dst hold the same elements in that range; src is used as scratch.
+     * The two arrays swap roles on each level, so nothing is copied back.
+     */
+    private static <T extends Comparable<T>> void sortInto(T[] src, T[] dst, int start, int end) {
+        if (start == end)
+            return;
+        int mid = (start + end + 1) >>> 1; // first index of the right part
+        sortInto(dst, src, start, mid - 1);
+        sortInto(dst, src, mid, end);
+        merge(src, dst, start, mid, end);
+    }
+
+    // Primitive overloads: the sorts below work on int[], long[] and double[] directly,
+    // so numeric data is sorted without boxing. double values are ordered as by
+    // Double.compare: -0.0 comes before 0.0, and NaN after positive infinity.
+
+    /**
+     * sorts arr using Merge Sort; stable
+     */
+    public static void mergeSort(int[] arr) {
+        if (arr.length < 2)
+            return;
+        sortInto(arr.clone(), arr, 0, arr.length - 1);
+    }
+
+    /**
+     * sorts arr using Merge Sort; stable
+     */
+    public static void mergeSort(long[] arr) {
+        if (arr.length < 2)
+            return;
+        sortInto(arr.clone(), arr, 0, arr.length - 1);
+    }
+
+    /**
+     * sorts arr using Merge Sort; stable
+     */
+    public static void mergeSort(double[] arr) {
+        if (arr.length < 2)
+            return;
+        sortInto(arr.clone(), arr, 0, arr.length - 1);
+    }
+
+    // same as the generic sortInto, but short ranges are sorted with insertion sort
+    // and the merge is skipped when the two parts are already in order
+    private static void sortInto(int[] src, int[] dst, int start, int end) {
+        if (end - start < INSERTION_CUTOFF) {
+            insertionSort(dst, start, end);
+            return;
+        }
+        int mid = (start + end + 1) >>> 1;
+        sortInto(dst, src, start, mid - 1);
+        sortInto(dst, src, mid, end);
+        if (src[mid - 1] <= src[mid]) {
+            System.arraycopy(src, start, dst, start, end - start + 1);
+            return;
+        }
+        int i = start, j = mid, k = start;
+        while (i < mid && j <= end)
+            dst[k++] = src[i] <= src[j] ? src[i++] : src[j++];
+        while (i < mid)
+            dst[k++] = src[i++];
+        while (j <= end)
+            dst[k++] = src[j++];
+    }
+
+    private static void sortInto(long[] src, long[] dst, int start, int end) {
+        if (end - start < INSERTION_CUTOFF) {
+            insertionSort(dst, start, end);
+            return;
+        }
+        int mid = (start + end + 1) >>> 1;
+        sortInto(dst, src, start, mid - 1);
+        sortInto(dst, src, mid, end);
+        if (src[mid - 1] <= src[mid]) {
+            System.arraycopy(src, start, dst, start, end - start + 1);
+            return;
+        }
+        int i = start, j = mid, k = start;
+        while (i < mid && j <= end)
+            dst[k++] = src[i] <= src[j] ? src[i++] : src[j++];
+        while (i < mid)
+            dst[k++] = src[i++];
+        while (j <= end)
+            dst[k++] = src[j++];
+    }
+
+    private static void sortInto(double[] src, double[] dst, int start, int end) {
+        if (end - start < INSERTION_CUTOFF) {
+            insertionSort(dst, start, end);
+            return;
+        }
+        int mid = (start + end + 1) >>> 1;
+        sortInto(dst, src, start, mid - 1);
+        sortInto(dst, src, mid, end);
+        if (Double.compare(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, start, dst, start, end - start + 1);
+            return;
+        }
+        int i = start, j = mid, k = start;
+        while (i < mid && j <= end)
+            dst[k++] = Double.compare(src[i], src[j]) <= 0 ? src[i++] : src[j++];
+        while (i < mid)
+            dst[k++] = src[i++];
+        while (j <= end)
+            dst[k++] = src[j++];
+    }
+
+    private static void insertionSort(int[] arr, int start, int end) {
+        for (int i = start + 1; i <= end; i++) {
+            int cur = arr[i];
+            int j = i - 1;
+            while (j >= start && arr[j] > cur) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = cur;
+        }
+    }
+
+    private static void insertionSort(long[] arr, int start, int end) {
+        for (int i = start + 1; i <= end; i++) {
+            long cur = arr[i];
+            int j = i - 1;
+            while (j >= start && arr[j] > cur) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = cur;
+        }
+    }
+
+    private static void insertionSort(double[] arr, int start, int end) {
+        for (int i = start + 1; i <= end; i++) {
+            double cur = arr[i];
+            int j = i - 1;
+            while (j >= start && Double.compare(arr[j], cur) > 0) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = cur;
+        }
+    }
+
+    public static void quickSort(int[] arr) {
+        quickSort(arr, 0, arr.length - 1);
+    }
+
+    public static void quickSort(long[] arr) {
+        quickSort(arr, 0, arr.length - 1);
+    }
+
+    public static void quickSort(double[] arr) {
+        quickSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * sorts the subarray arr[start...end] using Quick Sort; not stable.
+     * The pivot is the median of three elements, or for long ranges the median of
+     * three medians (Tukey's ninther). The partition is three-way, so elements equal
+     * to the pivot are never looked at again, and only the shorter part is sorted
+     * recursively, so the recursion depth is O(log n).
+     */
+    public static void quickSort(int[] arr, int start, int end) {
+        while (end - start >= INSERTION_CUTOFF) {
+            int pivot = arr[pivotIndex(arr, start, end)];
+            // arr[start...lt-1] < pivot, arr[lt...i-1] == pivot, arr[gt+1...end] > pivot
+            int lt = start, i = start, gt = end;
+            while (i <= gt) {
+                if (arr[i] < pivot)
+                    swap(arr, lt++, i++);
+                else if (arr[i] > pivot)
+                    swap(arr, i, gt--);
+                else
+                    i++;
+            }
+            if (lt - start < end - gt) {
+                quickSort(arr, start, lt - 1);
+                start = gt + 1;
+            } else {
+                quickSort(arr, gt + 1, end);
+                end = lt - 1;
+            }
+        }
+        insertionSort(arr, start, end);
+    }
+
+    /**
+     * sorts the subarray arr[start...end] using Quick Sort; see quickSort(int[], int, int)
+     */
+    public static void quickSort(long[] arr, int start, int end) {
+        while (end - start >= INSERTION_CUTOFF) {
+            long pivot = arr[pivotIndex(arr, start, end)];
+            int lt = start, i = start, gt = end;
+            while (i <= gt) {
+                if (arr[i] < pivot)
+                    swap(arr, lt++, i++);
+                else if (arr[i] > pivot)
+                    swap(arr, i, gt--);
+                else
+                    i++;
+            }
+            if (lt - start < end - gt) {
+                quickSort(arr, start, lt - 1);
+                start = gt + 1;
+            } else {
+                quickSort(arr, gt + 1, end);
+                end = lt - 1;
+            }
+        }
+        insertionSort(arr, start, end);
+    }
+
+    /**
+     * sorts the subarray arr[start...end] using Quick Sort; see quickSort(int[], int, int)
+     */
+    public static void quickSort(double[] arr, int start, int end) {
+        while (end - start >= INSERTION_CUTOFF) {
+            double pivot = arr[pivotIndex(arr, start, end)];
+            int lt = start, i = start, gt = end;
+            while (i <= gt) {
+                int cmp = Double.compare(arr[i], pivot);
+                if (cmp < 0)
+                    swap(arr, lt++, i++);
+                else if (cmp > 0)
+                    swap(arr, i, gt--);
+                else
+                    i++;
+            }
+            if (lt - start < end - gt) {
+                quickSort(arr, start, lt - 1);
+                start = gt + 1;
+            } else {
+                quickSort(arr, gt + 1, end);
+                end = lt - 1;
+            }
+        }
+        insertionSort(arr, start, end);
+    }
+
+    // index of the median of three, or of the ninther when the range is longer than NINTHER_CUTOFF
+    private static int pivotIndex(int[] arr, int start, int end) {
+        int mid = (start + end) >>> 1;
+        int step = (end - start + 1) / 8;
+        if (end - start + 1 <= NINTHER_CUTOFF)
+            return medianOfThree(arr, start, mid, end);
+        return medianOfThree(arr,
+                medianOfThree(arr, start, start + step, start + 2 * step),
+                medianOfThree(arr, mid - step, mid, mid + step),
+                medianOfThree(arr, end - 2 * step, end - step, end));
+    }
+
+    private static int pivotIndex(long[] arr, int start, int end) {
+        int mid = (start + end) >>> 1;
+        int step = (end - start + 1) / 8;
+        if (end - start + 1 <= NINTHER_CUTOFF)
+            return medianOfThree(arr, start, mid, end);
+        return medianOfThree(arr,
+                medianOfThree(arr, start, start + step, start + 2 * step),
+                medianOfThree(arr, mid - step, mid, mid + step),
+                medianOfThree(arr, end - 2 * step, end - step, end));
+    }
+
+    private static int pivotIndex(double[] arr, int start, int end) {
+        int mid = (start + end) >>> 1;
+        int step = (end - start + 1) / 8;
+        if (end - start + 1 <= NINTHER_CUTOFF)
+            return medianOfThree(arr, start, mid, end);
+        return medianOfThree(arr,
+                medianOfThree(arr, start, start + step, start + 2 * step),
+                medianOfThree(arr, mid - step, mid, mid + step),
+                medianOfThree(arr, end - 2 * step, end - step, end));
+    }
+
+    // the index among i, j, k whose element is the median of the three
+    private static int medianOfThree(int[] arr, int i, int j, int k) {
+        if (arr[i] < arr[j])
+            return arr[j] < arr[k] ? j : (arr[i] < arr[k] ? k : i);
+        return arr[k] < arr[j] ? j : (arr[k] < arr[i] ? k : i);
+    }
+
+    private static int medianOfThree(long[] arr, int i, int j, int k) {
+        if (arr[i] < arr[j])
+            return arr[j] < arr[k] ? j : (arr[i] < arr[k] ? k : i);
+        return arr[k] < arr[j] ? j : (arr[k] < arr[i] ? k : i);
+    }
+
+    private static int medianOfThree(double[] arr, int i, int j, int k) {
+        if (Double.compare(arr[i], arr[j]) < 0)
+            return Double.compare(arr[j], arr[k]) < 0 ? j : (Double.compare(arr[i], arr[k]) < 0 ? k : i);
+        return Double.compare(arr[k], arr[j]) < 0 ? j : (Double.compare(arr[k], arr[i]) < 0 ? k : i);
+    }
+
+    private static void swap(int[] arr, int i, int j) {
+        int temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
+    private static void swap(long[] arr, int i, int j) {
+        long temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
+    private static void swap(double[] arr, int i, int j) {
+        double temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
+    /**
+     * sorts arr using LSD Radix Sort: one stable counting pass per byte, least significant first.
+     * The sign bit is flipped when a digit is extracted, so negative numbers come first.
+     * A pass is skipped when all the elements have the same digit, e.g. the high bytes of small numbers.
+     */
+    public static void radixSort(int[] arr) {
+        int n = arr.length;
+        if (n < 2)
+            return;
+        int[] src = arr;
+        int[] dst = new int[n];
+        int[] count = new int[RADIX];
+        for (int shift = 0; shift < Integer.SIZE; shift += 8) {
+            Arrays.fill(count, 0);
+            for (int x : src)
+                count[digit(x, shift)]++;
+            if (count[digit(src[0], shift)] == n)
+                continue;
+            // count[d] becomes the position of the first element with digit d
+            for (int d = 0, pos = 0; d < RADIX; d++) {
+                int c = count[d];
+                count[d] = pos;
+                pos += c;
+            }
+            for (int x : src)
+                dst[count[digit(x, shift)]++] = x;
+            int[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+        if (src != arr)
+            System.arraycopy(src, 0, arr, 0, n);
+    }
+
+    /**
+     * sorts arr using LSD Radix Sort; see radixSort(int[])
+     */
+    public static void radixSort(long[] arr) {
+        int n = arr.length;
+        if (n < 2)
+            return;
+        long[] src = arr;
+        long[] dst = new long[n];
+        int[] count = new int[RADIX];
+        for (int shift = 0; shift < Long.SIZE; shift += 8) {
+            Arrays.fill(count, 0);
+            for (long x : src)
+                count[digit(x, shift)]++;
+            if (count[digit(src[0], shift)] == n)
+                continue;
+            for (int d = 0, pos = 0; d < RADIX; d++) {
+                int c = count[d];
+                count[d] = pos;
+                pos += c;
+            }
+            for (long x : src)
+                dst[count[digit(x, shift)]++] = x;
+            long[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+        if (src != arr)
+            System.arraycopy(src, 0, arr, 0, n);
+    }
+
+    // the byte of x at the given shift, with the sign bit flipped
+    private static int digit(int x, int shift) {
+        return ((x ^ Integer.MIN_VALUE) >>> shift) & (RADIX - 1);
+    }
+
+    private static int digit(long x, int shift) {
+        return (int) ((x ^ Long.MIN_VALUE) >>> shift) & (RADIX - 1);
+    }
+
 }